@@ -0,0 +1,71 @@
+package com.moviebooking.config;
+
+import com.moviebooking.model.entity.BookingSeat;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schema pieces that hibernate ddl-auto cannot express. Every statement is idempotent. Runs once
+ * all singletons exist, so after the schema update and before the web server takes traffic.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingSchemaInitializer implements SmartInitializingSingleton {
+    private final JdbcTemplate jdbcTemplate;
+
+    // Config properties
+    @Value("${app.booking.mode:locked}")
+    private String bookingMode;
+
+    @Value("${app.booking.hot-show.enabled:false}")
+    private boolean hotShowEnabled;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            // Backfill the denormalized seat columns for rows written before they existed
+            int backfilled = jdbcTemplate.update("""
+                    UPDATE booking_seats bs
+                    SET show_id = b.show_id, active = (b.status IS DISTINCT FROM 'CANCELLED')
+                    FROM bookings b
+                    WHERE bs.booking_id = b.id AND bs.show_id IS NULL
+                    """);
+            if (backfilled > 0) {
+                log.info("Backfilled show_id on {} booking seats", backfilled);
+            }
+
+            // One active booking per seat and show
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + BookingSeat.ACTIVE_SEAT_INDEX
+                    + " ON booking_seats (show_id, seat_number) WHERE active");
+        } catch (DataAccessException e) {
+            // Optimistic and mailbox bookings skip seat locks; without the index they could double book
+            if ("optimistic".equalsIgnoreCase(bookingMode) || hotShowEnabled) {
+                throw new IllegalStateException("Active seat index " + BookingSeat.ACTIVE_SEAT_INDEX
+                        + " is required by the configured booking mode but could not be created", e);
+            }
+            log.error("Failed to initialize booking seat constraints; bookings rely on seat locks alone", e);
+        }
+
+        // Tables created with identity ids: move the pooled sequences past existing rows
+        alignSequence("bookings_seq", "bookings");
+        alignSequence("booking_seats_seq", "booking_seats");
+        alignSequence("payments_seq", "payments");
+    }
+
+    // Only ever moves a sequence forward, so ranges already handed out to other nodes stay valid
+    private void alignSequence(String sequence, String table) {
+        try {
+            jdbcTemplate.queryForObject("SELECT setval('" + sequence + "', GREATEST("
+                    + "(SELECT COALESCE(MAX(id), 1) FROM " + table + "), "
+                    + "(SELECT last_value FROM " + sequence + ")))", Long.class);
+        } catch (DataAccessException e) {
+            log.error("Failed to align sequence {} with table {}", sequence, table, e);
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.moviebooking.controller;
 
 import com.moviebooking.model.dto.response.AnalyticsData;
 import com.moviebooking.service.AnalyticsService;
+import com.moviebooking.service.WaitingRoomService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -19,6 +24,7 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 public class AdminController {
 
     private final AnalyticsService analyticsService;
+    private final WaitingRoomService waitingRoomService;
 
     @GetMapping("/dashboard")
     @PreAuthorize("hasRole('ADMIN')")
@@ -50,4 +56,20 @@ public class AdminController {
         AnalyticsData data = analyticsService.getUsersAnalytics();
         return ResponseEntity.ok(data);
     }
+
+    @PostMapping("/shows/{showId}/waiting-room")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Open a waiting room", description = "Bookings for the show require an admission token until the room is closed.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> openWaitingRoom(@Parameter(description = "Show ID") @PathVariable Long showId) {
+        waitingRoomService.open(showId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/shows/{showId}/waiting-room")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Close a waiting room", description = "Lets everyone book the show directly again.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> closeWaitingRoom(@Parameter(description = "Show ID") @PathVariable Long showId) {
+        waitingRoomService.close(showId);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
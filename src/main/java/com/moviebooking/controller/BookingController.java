@@ -1,24 +1,43 @@
 package com.moviebooking.controller;
 
 import com.moviebooking.model.dto.request.BookingRequest;
+import com.moviebooking.model.dto.request.QuoteRequest;
+import com.moviebooking.model.dto.request.SeatAllocationRequest;
 import com.moviebooking.model.dto.request.SeatSelectionRequest;
+import com.moviebooking.model.dto.request.WaitlistRequest;
 import com.moviebooking.model.dto.response.BookingResponse;
+import com.moviebooking.model.dto.response.PriceQuoteResponse;
+import com.moviebooking.model.dto.response.SeatHoldResponse;
+import com.moviebooking.model.dto.response.ShowCapacityResponse;
+import com.moviebooking.model.dto.response.SliceResponse;
+import com.moviebooking.model.dto.response.WaitingRoomResponse;
+import com.moviebooking.model.dto.response.WaitlistResponse;
+import com.moviebooking.model.enums.SeatCategory;
 import com.moviebooking.service.BookingService;
+import com.moviebooking.service.IdempotencyService;
+import com.moviebooking.service.WaitingRoomService;
+import com.moviebooking.service.ShowCapacityService;
+import com.moviebooking.service.WaitlistService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.security.Principal;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/bookings")
@@ -26,29 +45,89 @@ import java.util.List;
 @Tag(name = "Bookings", description = "Booking and seat selection")
 public class BookingController {
     private final BookingService bookingService;
+    private final WaitingRoomService waitingRoomService;
+    private final WaitlistService waitlistService;
+    private final ShowCapacityService showCapacityService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
-    @Operation(summary = "Book seats for a show", description = "Book one or more seats for a show. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<BookingResponse> book(@Valid @RequestBody BookingRequest request, Principal principal) {
-        BookingResponse response = bookingService.book(request, principal.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    @Operation(summary = "Book seats for a show", description = "Book one or more seats for a show. Shows with an open waiting room require the X-Admission-Token header. Retries carrying the same Idempotency-Key get the original result. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    public CompletableFuture<ResponseEntity<BookingResponse>> book(@Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
+        Supplier<CompletableFuture<BookingResponse>> booking = () -> {
+            // Turned away before any database or lock work
+            waitingRoomService.checkAdmission(request.showId(), principal.getName(), admissionToken);
+            return bookingService.bookAsync(request, principal.getName());
+        };
+        CompletableFuture<BookingResponse> response = idempotencyKey == null
+                ? booking.get()
+                : idempotencyService.execute(principal.getName(), idempotencyKey, request, BookingResponse.class,
+                        booking);
+        return response.thenApply(body -> ResponseEntity.status(HttpStatus.CREATED).body(body));
     }
 
     @PostMapping("/lock-seats")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
-    @Operation(summary = "Lock seats for a show", description = "Lock seats for a show before booking. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Void> lockSeats(@Valid @RequestBody SeatSelectionRequest request, Principal principal) {
-        bookingService.lockSeats(request, principal.getName());
-        return ResponseEntity.ok().build();
+    @Operation(summary = "Lock seats for a show", description = "Hold seats for a show for a limited time before booking. Shows with an open waiting room require the X-Admission-Token header. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<SeatHoldResponse> lockSeats(@Valid @RequestBody SeatSelectionRequest request,
+            @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken,
+            Principal principal) {
+        waitingRoomService.checkAdmission(request.showId(), principal.getName(), admissionToken);
+        SeatHoldResponse response = bookingService.lockSeats(request, principal.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/quote")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Quote a seat selection", description = "Price seats by category and apply a promo code without booking. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<PriceQuoteResponse> quote(@Valid @RequestBody QuoteRequest request) {
+        PriceQuoteResponse response = bookingService.quote(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/allocate-seats")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Allocate best available seats", description = "Pick and hold the best block of adjacent seats of a category. Shows with an open waiting room require the X-Admission-Token header. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<SeatHoldResponse> allocateSeats(@Valid @RequestBody SeatAllocationRequest request,
+            @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken,
+            Principal principal) {
+        waitingRoomService.checkAdmission(request.showId(), principal.getName(), admissionToken);
+        SeatHoldResponse response = bookingService.allocateSeats(request, principal.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/lock-seats/extend")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Extend seat holds", description = "Extend the caller's active seat holds for a show. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<SeatHoldResponse> extendSeatLocks(@Valid @RequestBody SeatSelectionRequest request,
+            Principal principal) {
+        SeatHoldResponse response = bookingService.extendSeatLocks(request, principal.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/lock-seats/release")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Release seat holds", description = "Release the caller's seat holds for a show. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> releaseSeatLocks(@Valid @RequestBody SeatSelectionRequest request,
+            Principal principal) {
+        bookingService.releaseSeatLocks(request, principal.getName());
+        return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{bookingId}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
-    @Operation(summary = "Modify a booking", description = "Modify an existing booking. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Modify a booking", description = "Modify an existing booking. Shows with an open waiting room require the X-Admission-Token header. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<BookingResponse> modifyBooking(
             @Parameter(description = "Booking ID") @PathVariable Long bookingId,
-            @Valid @RequestBody BookingRequest request, Principal principal) {
+            @Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = "X-Admission-Token", required = false) String admissionToken,
+            Principal principal) {
+        // The booking's own show is gated, whatever show the request names
+        Long showId = bookingService.getBooking(bookingId, principal.getName()).showId();
+        waitingRoomService.checkAdmission(showId, principal.getName(), admissionToken);
         BookingResponse response = bookingService.modifyBooking(bookingId, request, principal.getName());
         return ResponseEntity.ok(response);
     }
@@ -64,9 +143,11 @@ public class BookingController {
 
     @PostMapping("/group")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
-    @Operation(summary = "Group booking", description = "Book multiple bookings as a group. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    @Operation(summary = "Group booking", description = "Book multiple bookings as a group. Every show with an open waiting room must be admitted by an X-Admission-Token header; repeat the header once per show. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
     public ResponseEntity<List<BookingResponse>> groupBooking(@Valid @RequestBody List<BookingRequest> requests,
+            @RequestHeader(value = "X-Admission-Token", required = false) List<String> admissionTokens,
             Principal principal) {
+        checkGroupAdmission(requests, admissionTokens, principal.getName());
         List<BookingResponse> responses = bookingService.groupBooking(requests, principal.getName());
         return ResponseEntity.ok(responses);
     }
@@ -83,9 +164,11 @@ public class BookingController {
 
     @GetMapping("/user")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
-    @Operation(summary = "Get bookings by user", description = "Get all bookings for a specific user. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
-    public ResponseEntity<Page<BookingResponse>> getBookingsByUser(Principal principal, Pageable pageable) {
-        Page<BookingResponse> responses = bookingService.getBookingsByUser(principal.getName(), pageable);
+    @Operation(summary = "Get bookings by user", description = "Get the user's bookings, newest first, one slice at a time. Pass nextCursor from the previous slice to continue. User, Admin, or Theater Owner.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<SliceResponse<BookingResponse>> getBookingsByUser(Principal principal,
+            @Parameter(description = "Cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        SliceResponse<BookingResponse> responses = bookingService.getBookingsByUser(principal.getName(), cursor, size);
         return ResponseEntity.ok(responses);
     }
 
@@ -97,4 +180,111 @@ public class BookingController {
         List<String> seats = bookingService.getUnavailableSeats(showId);
         return ResponseEntity.ok(seats);
     }
+
+    @GetMapping("/shows/{showId}/capacity")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Get remaining capacity of a show", description = "Seats left per category with a sold-out / filling-fast summary, for listings.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<ShowCapacityResponse> getShowCapacity(
+            @Parameter(description = "Show ID") @PathVariable Long showId) {
+        ShowCapacityResponse response = showCapacityService.capacity(showId);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/shows/{showId}/waiting-room")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Join a show's waiting room", description = "Queue for an admission token. Joining again keeps the original place.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<WaitingRoomResponse> joinWaitingRoom(
+            @Parameter(description = "Show ID") @PathVariable Long showId, Principal principal) {
+        WaitingRoomResponse response = waitingRoomService.join(showId, principal.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/shows/{showId}/waiting-room")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Get waiting room position", description = "Queue position and ETA for a ticket; includes the admission token once admitted.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<WaitingRoomResponse> getWaitingRoomStatus(
+            @Parameter(description = "Show ID") @PathVariable Long showId,
+            @Parameter(description = "Ticket returned when joining") @RequestParam String ticket,
+            Principal principal) {
+        WaitingRoomResponse response = waitingRoomService.status(showId, principal.getName(), ticket);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/shows/{showId}/waitlist")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Join a show's waitlist", description = "Queue for seats of a category. Seats freed by cancellations are offered in join order as a time-bounded hold.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<WaitlistResponse> joinWaitlist(
+            @Parameter(description = "Show ID") @PathVariable Long showId,
+            @RequestBody @Valid WaitlistRequest request, Principal principal) {
+        WaitlistResponse response = waitlistService.join(showId, request, principal.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/shows/{showId}/waitlist")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Get waitlist status", description = "Position in the waitlist, or the seats held for the user once an offer was made.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<WaitlistResponse> getWaitlistStatus(
+            @Parameter(description = "Show ID") @PathVariable Long showId,
+            @Parameter(description = "Seat category") @RequestParam SeatCategory seatCategory,
+            Principal principal) {
+        WaitlistResponse response = waitlistService.status(showId, seatCategory, principal.getName());
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/shows/{showId}/waitlist")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Leave a show's waitlist", description = "Gives up the user's place for the category.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<Void> leaveWaitlist(
+            @Parameter(description = "Show ID") @PathVariable Long showId,
+            @Parameter(description = "Seat category") @RequestParam SeatCategory seatCategory,
+            Principal principal) {
+        waitlistService.leave(showId, seatCategory, principal.getName());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/shows/{showId}/availability")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Get versioned seat availability for a show", description = "Returns the seat changes since the given version, a full snapshot when no or an expired version is given, or 304 when nothing changed.", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<byte[]> getSeatAvailability(
+            @Parameter(description = "Show ID") @PathVariable Long showId,
+            @Parameter(description = "Version the client already has") @RequestParam(required = false) Long since) {
+        return bookingService.getSeatAvailability(showId, since)
+                .map(payload -> ResponseEntity.ok()
+                        .eTag(String.valueOf(payload.version()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(payload.body()))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+    }
+
+    @GetMapping(value = "/shows/{showId}/seat-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'THEATER_OWNER')")
+    @Operation(summary = "Stream seat-map changes for a show", description = "Server-sent events: a SNAPSHOT of booked seats, then HELD, UNHELD, BOOKED and RELEASED deltas.", security = @SecurityRequirement(name = "bearerAuth"))
+    public SseEmitter streamSeatEvents(@Parameter(description = "Show ID") @PathVariable Long showId) {
+        return bookingService.subscribeToSeatMap(showId);
+    }
+
+    // Tokens are signed per show, so each show of the group needs one that admits the user to it
+    private void checkGroupAdmission(List<BookingRequest> requests, List<String> admissionTokens, String username) {
+        List<String> tokens = admissionTokens != null && !admissionTokens.isEmpty()
+                ? admissionTokens
+                : Collections.singletonList(null);
+        Set<Long> showIds = new LinkedHashSet<>();
+        requests.forEach(request -> showIds.add(request.showId()));
+        showIds.remove(null);
+        for (Long showId : showIds) {
+            RuntimeException rejected = null;
+            for (String token : tokens) {
+                try {
+                    waitingRoomService.checkAdmission(showId, username, token);
+                    rejected = null;
+                    break;
+                } catch (RuntimeException e) {
+                    rejected = e;
+                }
+            }
+            if (rejected != null) {
+                throw rejected;
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -5,14 +5,13 @@ import com.moviebooking.model.dto.request.MovieFilter;
 import com.moviebooking.model.dto.request.MovieRequest;
 import com.moviebooking.model.dto.response.MovieResponse;
 import com.moviebooking.model.dto.response.ReviewResponse;
+import com.moviebooking.model.dto.response.SliceResponse;
 import com.moviebooking.service.MovieService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -62,11 +61,12 @@ public class MovieController {
     }
 
     @GetMapping
-    @Operation(summary = "Search movies with pagination", description = "Search and filter movies by title, genre, rating, language, or release date, with pagination.")
-    public ResponseEntity<Page<MovieResponse>> searchMovies(
+    @Operation(summary = "Search movies with pagination", description = "Search and filter movies by title, genre, rating, language, or release date. Results are ordered by title and returned one slice at a time; pass nextCursor to continue.")
+    public ResponseEntity<SliceResponse<MovieResponse>> searchMovies(
             @ModelAttribute @Valid MovieFilter filter,
-            Pageable pageable) {
-        Page<MovieResponse> responses = movieService.searchMovies(filter, pageable);
+            @Parameter(description = "Cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        SliceResponse<MovieResponse> responses = movieService.searchMovies(filter, cursor, size);
         return ResponseEntity.ok(responses);
     }
 
@@ -91,11 +91,12 @@ public class MovieController {
     }
 
     @GetMapping("/{movieId}/reviews")
-    @Operation(summary = "Get reviews for a movie", description = "Fetch all reviews for a movie.")
-    public ResponseEntity<Page<ReviewResponse>> getReviews(
+    @Operation(summary = "Get reviews for a movie", description = "Fetch reviews for a movie, newest first, one slice at a time. Pass nextCursor to continue.")
+    public ResponseEntity<SliceResponse<ReviewResponse>> getReviews(
             @Parameter(description = "Movie ID") @PathVariable Long movieId,
-            Pageable pageable) {
-        Page<ReviewResponse> responses = movieService.getReviews(movieId, pageable);
+            @Parameter(description = "Cursor from the previous slice") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Slice size, at most 100") @RequestParam(defaultValue = "20") int size) {
+        SliceResponse<ReviewResponse> responses = movieService.getReviews(movieId, cursor, size);
         return ResponseEntity.ok(responses);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.moviebooking.exception;
 
+import java.util.List;
+
 public class CustomExceptions {
     public static class JwtAuthenticationException extends RuntimeException {
         public JwtAuthenticationException(String message) {
@@ -44,7 +46,44 @@ public class CustomExceptions {
     }
 
     public static class SeatLockedException extends RuntimeException {
+        private final Long showId;
+        private final List<String> seatNumbers;
+
         public SeatLockedException(String message) {
+            this(message, null, List.of());
+        }
+
+        public SeatLockedException(String message, Long showId, List<String> seatNumbers) {
+            super(message);
+            this.showId = showId;
+            this.seatNumbers = seatNumbers;
+        }
+
+        // The show whose seats were found locked, when the lock backend can tell
+        public Long getShowId() {
+            return showId;
+        }
+
+        // The seats found locked, when the lock backend can tell
+        public List<String> getSeatNumbers() {
+            return seatNumbers;
+        }
+    }
+
+    public static class SeatBeingPurchasedException extends RuntimeException {
+        public SeatBeingPurchasedException(String message) {
+            super(message);
+        }
+    }
+
+    public static class RequestInProgressException extends RuntimeException {
+        public RequestInProgressException(String message) {
+            super(message);
+        }
+    }
+
+    public static class TooManyRequestsException extends RuntimeException {
+        public TooManyRequestsException(String message) {
             super(message);
         }
     }
@@ -22,6 +22,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ex.getMessage());
     }
 
+    @ExceptionHandler({ CustomExceptions.SeatLockedException.class, CustomExceptions.SeatUnavailableException.class,
+            CustomExceptions.RequestInProgressException.class })
+    public ResponseEntity<String> handleSeatConflict(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(CustomExceptions.SeatBeingPurchasedException.class)
+    public ResponseEntity<String> handleSeatBeingPurchased(CustomExceptions.SeatBeingPurchasedException ex) {
+        return ResponseEntity.status(HttpStatus.LOCKED).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(CustomExceptions.TooManyRequestsException.class)
+    public ResponseEntity<String> handleTooManyRequests(CustomExceptions.TooManyRequestsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(ex.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneric(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An error occurred: " + ex.getMessage());
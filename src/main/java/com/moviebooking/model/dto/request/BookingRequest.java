@@ -2,6 +2,7 @@ package com.moviebooking.model.dto.request;
 
 import com.moviebooking.model.enums.PaymentMethod;
 import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.util.SeatLayout;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -13,4 +14,7 @@ public record BookingRequest(
         @NotNull SeatCategory seatCategory,
         @NotNull PaymentMethod paymentMethod,
         Long promoCodeId) {
+    public BookingRequest {
+        seatNumbers = SeatLayout.canonical(seatNumbers);
+    }
 }
\ No newline at end of file
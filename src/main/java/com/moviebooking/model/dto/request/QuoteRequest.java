@@ -0,0 +1,18 @@
+package com.moviebooking.model.dto.request;
+
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.util.SeatLayout;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record QuoteRequest(
+        @NotNull Long showId,
+        @NotNull @Size(min = 1) List<String> seatNumbers,
+        @NotNull SeatCategory seatCategory,
+        Long promoCodeId) {
+    public QuoteRequest {
+        seatNumbers = SeatLayout.canonical(seatNumbers);
+    }
+}
@@ -0,0 +1,12 @@
+package com.moviebooking.model.dto.request;
+
+import com.moviebooking.model.enums.SeatCategory;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record SeatAllocationRequest(
+        @NotNull Long showId,
+        @NotNull @Min(1) @Max(50) Integer count,
+        @NotNull SeatCategory seatCategory) {
+}
@@ -1,6 +1,7 @@
 package com.moviebooking.model.dto.request;
 
 import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.util.SeatLayout;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
@@ -10,4 +11,7 @@ public record SeatSelectionRequest(
         @NotNull Long showId,
         @NotNull @Size(min = 1) List<String> seatNumbers,
         @NotNull SeatCategory seatCategory) {
+    public SeatSelectionRequest {
+        seatNumbers = SeatLayout.canonical(seatNumbers);
+    }
 }
\ No newline at end of file
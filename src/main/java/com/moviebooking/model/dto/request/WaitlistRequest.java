@@ -0,0 +1,11 @@
+package com.moviebooking.model.dto.request;
+
+import com.moviebooking.model.enums.SeatCategory;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record WaitlistRequest(
+        @NotNull SeatCategory seatCategory,
+        @NotNull @Min(1) @Max(10) Integer count) {
+}
@@ -0,0 +1,13 @@
+package com.moviebooking.model.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record PriceQuoteResponse(
+        Long showId,
+        List<String> seatNumbers,
+        BigDecimal subtotal,
+        BigDecimal discount,
+        BigDecimal totalAmount,
+        Long promoCodeId) {
+}
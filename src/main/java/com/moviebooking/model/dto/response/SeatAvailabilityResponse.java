@@ -0,0 +1,12 @@
+package com.moviebooking.model.dto.response;
+
+import java.util.List;
+
+// A full snapshot lists every booked seat; a delta lists the seats whose state changed since the client's version
+public record SeatAvailabilityResponse(
+        Long showId,
+        long version,
+        boolean snapshot,
+        List<String> bookedSeats,
+        List<String> releasedSeats) {
+}
@@ -0,0 +1,10 @@
+package com.moviebooking.model.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SeatHoldResponse(
+        Long showId,
+        List<String> seatNumbers,
+        LocalDateTime expiresAt) {
+}
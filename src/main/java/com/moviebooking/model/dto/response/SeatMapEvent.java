@@ -0,0 +1,13 @@
+package com.moviebooking.model.dto.response;
+
+import com.moviebooking.model.enums.SeatEventType;
+
+import java.util.List;
+
+// SNAPSHOT carries all booked seats; the other types are deltas. UNHELD never frees a booked seat.
+public record SeatMapEvent(
+        Long showId,
+        SeatEventType type,
+        List<String> seatNumbers,
+        long timestamp) {
+}
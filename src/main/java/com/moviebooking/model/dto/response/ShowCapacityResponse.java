@@ -0,0 +1,14 @@
+package com.moviebooking.model.dto.response;
+
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.model.enums.ShowAvailability;
+
+import java.util.Map;
+
+// remainingByCategory is empty for screens without a seat plan
+public record ShowCapacityResponse(
+        Long showId,
+        ShowAvailability availability,
+        long remainingSeats,
+        Map<SeatCategory, Long> remainingByCategory) {
+}
@@ -0,0 +1,32 @@
+package com.moviebooking.model.dto.response;
+
+import com.moviebooking.util.PageCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One keyset page without a total count; pass nextCursor back to continue after the last item
+public record SliceResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * @param rows up to size + 1 rows in keyset order; the extra row only signals that more follow
+     */
+    public static <R, T> SliceResponse<T> of(List<R> rows, int size, Function<List<R>, List<T>> mapper,
+            Function<R, PageCursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<R> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new SliceResponse<>(mapper.apply(page), size, hasNext, nextCursor);
+    }
+}
@@ -0,0 +1,13 @@
+package com.moviebooking.model.dto.response;
+
+import java.time.LocalDateTime;
+
+// admissionToken is set once the caller has reached the front of the queue
+public record WaitingRoomResponse(
+        Long showId,
+        String ticket,
+        long position,
+        long etaSeconds,
+        String admissionToken,
+        LocalDateTime admissionExpiresAt) {
+}
@@ -0,0 +1,16 @@
+package com.moviebooking.model.dto.response;
+
+import com.moviebooking.model.enums.SeatCategory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// While waiting, position is 1-based; once seats are offered they are held for the user until offerExpiresAt
+public record WaitlistResponse(
+        Long showId,
+        SeatCategory seatCategory,
+        int count,
+        long position,
+        List<String> offeredSeats,
+        LocalDateTime offerExpiresAt) {
+}
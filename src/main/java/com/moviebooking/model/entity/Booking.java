@@ -10,7 +10,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = @Index(name = "ix_bookings_user_time", columnList = "user_id, booking_time, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,7 +20,8 @@ import java.util.Set;
 @EqualsAndHashCode(exclude = {"user", "show", "bookingSeats", "payment"})
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -14,17 +14,26 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ToString(exclude = {"booking"})
-@EqualsAndHashCode(exclude = {"booking"})
+@ToString(exclude = {"booking", "show"})
+@EqualsAndHashCode(exclude = {"booking", "show"})
 public class BookingSeat {
+    // Partial unique index on (show_id, seat_number) over active seats, see BookingSchemaInitializer
+    public static final String ACTIVE_SEAT_INDEX = "ux_booking_seats_show_seat_active";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seats_seq")
+    @SequenceGenerator(name = "booking_seats_seq", sequenceName = "booking_seats_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booking_id")
     private Booking booking;
 
+    // Denormalized from the booking so seat uniqueness can be enforced per show
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "show_id")
+    private Show show;
+
     @Column(length = 10)
     private String seatNumber;
 
@@ -34,6 +43,11 @@ public class BookingSeat {
     @Column(precision = 10, scale = 2)
     private BigDecimal price;
 
+    // False once the booking is cancelled, which frees the seat for the unique index
+    @Builder.Default
+    @Column(nullable = false, columnDefinition = "boolean default true")
+    private boolean active = true;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -11,7 +11,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "movies")
+@Table(name = "movies", indexes = @Index(name = "ix_movies_title", columnList = "title, id"))
 @Getter
 @Setter
 @NoArgsConstructor
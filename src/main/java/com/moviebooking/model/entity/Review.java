@@ -6,7 +6,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = @Index(name = "ix_reviews_movie_created", columnList = "movie_id, created_at, id"))
 @Getter
 @Setter
 @NoArgsConstructor
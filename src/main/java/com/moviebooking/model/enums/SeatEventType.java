@@ -0,0 +1,9 @@
+package com.moviebooking.model.enums;
+
+public enum SeatEventType {
+    SNAPSHOT,
+    HELD,
+    UNHELD,
+    BOOKED,
+    RELEASED
+}
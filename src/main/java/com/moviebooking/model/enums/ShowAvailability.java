@@ -0,0 +1,7 @@
+package com.moviebooking.model.enums;
+
+public enum ShowAvailability {
+    AVAILABLE,
+    FILLING_FAST,
+    SOLD_OUT
+}
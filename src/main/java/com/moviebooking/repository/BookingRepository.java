@@ -1,6 +1,8 @@
 package com.moviebooking.repository;
 
 import com.moviebooking.model.entity.Booking;
+import com.moviebooking.model.enums.BookingStatus;
+import com.moviebooking.model.enums.PaymentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,9 +13,57 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    // Flat read model for BookingResponse; seats come separately from BookingSeatRepository.findSeatRowsByBookingIds
+    interface BookingRow {
+        Long getBookingId();
+
+        Long getUserId();
+
+        Long getShowId();
+
+        String getMovieTitle();
+
+        String getTheaterName();
+
+        LocalDateTime getShowTime();
+
+        LocalDateTime getBookingTime();
+
+        BigDecimal getTotalAmount();
+
+        BookingStatus getStatus();
+
+        PaymentStatus getPaymentStatus();
+    }
+
+    String BOOKING_ROW_SELECT = """
+                SELECT b.id AS bookingId, b.user.id AS userId, s.id AS showId, m.title AS movieTitle,
+                       t.name AS theaterName, s.startTime AS showTime, b.totalAmount AS totalAmount,
+                       b.status AS status, p.status AS paymentStatus,
+                       b.bookingTime AS bookingTime
+                FROM Booking b JOIN b.show s LEFT JOIN s.movie m LEFT JOIN s.screen sc LEFT JOIN sc.theater t
+                LEFT JOIN b.payment p
+            """;
+
+    // Keyset pages, newest first, served by the (user_id, booking_time, id) index; the pageable only carries the limit
+    @Query(BOOKING_ROW_SELECT + "WHERE b.user.id = :userId ORDER BY b.bookingTime DESC, b.id DESC")
+    List<BookingRow> findRowsByUserId(@Param("userId") Long userId, Pageable limit);
+
+    @Query(BOOKING_ROW_SELECT + """
+                WHERE b.user.id = :userId
+                AND (b.bookingTime < :bookingTime OR (b.bookingTime = :bookingTime AND b.id < :id))
+                ORDER BY b.bookingTime DESC, b.id DESC
+            """)
+    List<BookingRow> findRowsByUserIdAfter(@Param("userId") Long userId,
+            @Param("bookingTime") LocalDateTime bookingTime, @Param("id") Long id, Pageable limit);
+
+    @Query(BOOKING_ROW_SELECT + "WHERE b.id = :bookingId")
+    Optional<BookingRow> findRowById(@Param("bookingId") Long bookingId);
+
     List<Booking> findByUserId(Long userId);
 
     // Find bookings for a theater owner between two dates
@@ -1,14 +1,57 @@
 package com.moviebooking.repository;
 
 import com.moviebooking.model.entity.BookingSeat;
+import com.moviebooking.model.enums.SeatCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BookingSeatRepository extends JpaRepository<BookingSeat, Long> {
+    interface BookingSeatRow {
+        Long getBookingId();
+
+        String getSeatNumber();
+
+        SeatCategory getSeatCategory();
+    }
+
     List<BookingSeat> findByBooking_Show_Id(Long showId);
 
     List<BookingSeat> findByBookingId(Long bookingId);
-}
\ No newline at end of file
+
+    @Modifying
+    @Query("UPDATE BookingSeat bs SET bs.active = false WHERE bs.booking.id = :bookingId")
+    int deactivateByBookingId(@Param("bookingId") Long bookingId);
+
+    // Seat numbers held by non-cancelled bookings, served by the active-seat unique index
+    @Query("""
+                SELECT bs.seatNumber FROM BookingSeat bs
+                WHERE bs.show.id = :showId AND bs.active = true
+            """)
+    List<String> findActiveSeatNumbersByShowId(@Param("showId") Long showId);
+
+    // Only the requested seats that collide with another non-cancelled booking
+    @Query("""
+                SELECT bs.seatNumber FROM BookingSeat bs
+                WHERE bs.show.id = :showId AND bs.active = true
+                AND bs.booking.id <> :excludeBookingId
+                AND bs.seatNumber IN :seatNumbers
+            """)
+    List<String> findConflictingSeatNumbers(@Param("showId") Long showId,
+            @Param("seatNumbers") Collection<String> seatNumbers, @Param("excludeBookingId") Long excludeBookingId);
+
+    // Seats of a whole page of bookings in one statement
+    @Query("""
+                SELECT bs.booking.id AS bookingId, bs.seatNumber AS seatNumber, bs.seatCategory AS seatCategory
+                FROM BookingSeat bs
+                WHERE bs.booking.id IN :bookingIds
+                ORDER BY bs.id
+            """)
+    List<BookingSeatRow> findSeatRowsByBookingIds(@Param("bookingIds") Collection<Long> bookingIds);
+}
@@ -4,8 +4,11 @@ import com.moviebooking.model.entity.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -17,4 +20,21 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     boolean existsByMovieIdAndUserId(Long movieId, Long id);
 
     Page<Review> findByMovieIdOrderByCreatedAtDesc(Long movieId, Pageable pageable);
+
+    // Keyset pages, newest first, served by the (movie_id, created_at, id) index; the pageable only carries the limit
+    @Query("""
+                SELECT r FROM Review r JOIN FETCH r.user
+                WHERE r.movie.id = :movieId
+                ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<Review> findByMovieIdNewestFirst(@Param("movieId") Long movieId, Pageable limit);
+
+    @Query("""
+                SELECT r FROM Review r JOIN FETCH r.user
+                WHERE r.movie.id = :movieId
+                AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))
+                ORDER BY r.createdAt DESC, r.id DESC
+            """)
+    List<Review> findByMovieIdAfter(@Param("movieId") Long movieId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id, Pageable limit);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.moviebooking.repository;
+
+import com.moviebooking.model.entity.Seat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeatRepository extends JpaRepository<Seat, Long> {
+    List<Seat> findByScreenId(Long screenId);
+}
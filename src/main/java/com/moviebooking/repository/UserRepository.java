@@ -17,6 +17,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUsername(String username);
 
+    // Read paths that only need the id skip the user row and its eagerly loaded roles
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(@Param("username") String username);
+
     @Query("SELECT FUNCTION('TO_CHAR', u.createdAt, 'Mon'), COUNT(u) FROM User u WHERE u.createdAt IS NOT NULL GROUP BY FUNCTION('TO_CHAR', u.createdAt, 'Mon') ORDER BY MIN(u.createdAt)")
     List<Object[]> countUsersByMonth();
 
@@ -0,0 +1,26 @@
+package com.moviebooking.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user booking limits: seats per show, seats across all shows and booking attempts, each over
+ * its own sliding window. Checked before any seat lock or database write.
+ */
+public interface BookingQuotaService {
+    /**
+     * Charges the attempt against every limit of the user, all or nothing. Throws
+     * TooManyRequestsException naming the limit that was hit. Returns null when nothing was
+     * charged because quotas are off or unreachable.
+     */
+    Charge charge(String username, Map<Long, Integer> seatsPerShow, int bookings);
+
+    /**
+     * Gives back the seats of a charge whose booking did not go through. Attempts stay counted.
+     */
+    void refund(Charge charge);
+
+    // Window counters that were incremented and by how many seats
+    record Charge(List<String> seatKeys, List<Long> seats) {
+    }
+}
@@ -1,17 +1,39 @@
 package com.moviebooking.service;
 
 import com.moviebooking.model.dto.request.BookingRequest;
+import com.moviebooking.model.dto.request.QuoteRequest;
+import com.moviebooking.model.dto.request.SeatAllocationRequest;
 import com.moviebooking.model.dto.request.SeatSelectionRequest;
 import com.moviebooking.model.dto.response.BookingResponse;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.moviebooking.model.dto.response.PriceQuoteResponse;
+import com.moviebooking.model.dto.response.SeatHoldResponse;
+import com.moviebooking.model.dto.response.SliceResponse;
+import com.moviebooking.util.VersionedPayload;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface BookingService {
     BookingResponse book(BookingRequest request, String username);
 
-    void lockSeats(SeatSelectionRequest request, String username);
+    /**
+     * Books like {@link #book}, but hot shows are served by their single-writer mailbox.
+     * Other shows complete the future on the calling thread.
+     */
+    CompletableFuture<BookingResponse> bookAsync(BookingRequest request, String username);
+
+    SeatHoldResponse lockSeats(SeatSelectionRequest request, String username);
+
+    /**
+     * Picks the best contiguous block for the request and holds it for the user.
+     */
+    SeatHoldResponse allocateSeats(SeatAllocationRequest request, String username);
+
+    SeatHoldResponse extendSeatLocks(SeatSelectionRequest request, String username);
+
+    void releaseSeatLocks(SeatSelectionRequest request, String username);
 
     BookingResponse modifyBooking(Long bookingId, BookingRequest request, String username);
 
@@ -19,9 +41,21 @@ public interface BookingService {
 
     List<BookingResponse> groupBooking(List<BookingRequest> requests, String username);
 
+    PriceQuoteResponse quote(QuoteRequest request);
+
     BookingResponse getBooking(Long bookingId, String username);
 
-    Page<BookingResponse> getBookingsByUser(String username, Pageable pageable);
+    /**
+     * Newest bookings first, continuing after the cursor of a previous slice (null for the first one).
+     */
+    SliceResponse<BookingResponse> getBookingsByUser(String username, String cursor, int size);
 
     java.util.List<String> getUnavailableSeats(Long showId);
+
+    SseEmitter subscribeToSeatMap(Long showId);
+
+    /**
+     * Seat changes since the client's version, or a snapshot; empty when the client is up to date.
+     */
+    Optional<VersionedPayload> getSeatAvailability(Long showId, Long sinceVersion);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.moviebooking.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+    /**
+     * Runs the operation at most once per user and key. A repeat gets the stored result, or the
+     * first attempt's result once it completes. A failed attempt stores nothing, so it can be retried.
+     * Reusing a key with a different request is rejected.
+     */
+    <T> CompletableFuture<T> execute(String username, String key, Object request, Class<T> resultType,
+            Supplier<CompletableFuture<T>> operation);
+}
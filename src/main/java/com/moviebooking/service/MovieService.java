@@ -4,9 +4,8 @@ import com.moviebooking.model.dto.request.MovieFilter;
 import com.moviebooking.model.dto.request.MovieRequest;
 import com.moviebooking.model.dto.response.MovieResponse;
 import com.moviebooking.model.dto.response.ReviewResponse;
+import com.moviebooking.model.dto.response.SliceResponse;
 import com.moviebooking.model.entity.Movie;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface MovieService {
@@ -18,13 +17,19 @@ public interface MovieService {
 
     MovieResponse getMovie(Long movieId);
 
-    Page<MovieResponse> searchMovies(MovieFilter filter, Pageable pageable);
+    /**
+     * Matching movies by title, continuing after the cursor of a previous slice (null for the first one).
+     */
+    SliceResponse<MovieResponse> searchMovies(MovieFilter filter, String cursor, int size);
 
     void uploadPoster(Long movieId, MultipartFile file);
 
     void addReview(Long movieId, String username, String review, int rating);
 
-    Page<ReviewResponse> getReviews(Long movieId, Pageable pageable);
+    /**
+     * Newest reviews first, continuing after the cursor of a previous slice (null for the first one).
+     */
+    SliceResponse<ReviewResponse> getReviews(Long movieId, String cursor, int size);
 
     Movie getMovieById(Long id);
 
@@ -2,12 +2,21 @@ package com.moviebooking.service;
 
 import com.moviebooking.model.dto.request.PaymentRequest;
 import com.moviebooking.model.dto.response.PaymentResponse;
+import com.moviebooking.model.entity.Booking;
+import com.moviebooking.model.entity.Payment;
+import com.moviebooking.model.enums.PaymentMethod;
 
 import java.util.List;
 
 public interface PaymentService {
     PaymentResponse processPayment(PaymentRequest request, Long bookingId, Long userId);
 
+    /**
+     * Builds the payment for a booking that is being created. The payment is not saved here;
+     * it is inserted together with the booking through the cascade.
+     */
+    Payment preparePayment(Booking booking, PaymentMethod paymentMethod);
+
     void refundPayment(Long paymentId, Long userId);
 
     PaymentResponse getPaymentStatus(Long paymentId, Long userId);
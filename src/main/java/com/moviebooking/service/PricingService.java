@@ -0,0 +1,17 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.util.PriceQuote;
+
+import java.util.List;
+
+public interface PricingService {
+    /**
+     * Prices the seats by their configured category, falling back to the requested category on
+     * screens without a seat plan, and applies the promo code if it is valid. The quote keeps the
+     * category and price of every seat.
+     */
+    PriceQuote quote(Long showId, List<String> seatNumbers, SeatCategory requestedCategory, Long promoCodeId);
+
+    void evict(Long showId);
+}
@@ -0,0 +1,24 @@
+package com.moviebooking.service;
+
+import com.moviebooking.util.VersionedPayload;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface SeatAvailabilityService {
+    /**
+     * Appends a committed seat change to the show's change log and returns the new version.
+     */
+    long recordChange(Long showId, boolean booked, Collection<String> seatNumbers);
+
+    /**
+     * Returns the show's latest seat version, 0 before its first change.
+     */
+    long currentVersion(Long showId);
+
+    /**
+     * Returns the seat changes since the given version, or a full snapshot when the version is
+     * missing or too old. Empty when nothing changed since that version.
+     */
+    Optional<VersionedPayload> getAvailability(Long showId, Long sinceVersion);
+}
@@ -0,0 +1,21 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.enums.SeatEventType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+public interface SeatEventService {
+    /**
+     * Opens a seat-map stream for the show. The snapshot is read after the subscription is
+     * registered, so no delta committed in between is lost.
+     */
+    SseEmitter subscribe(Long showId, Supplier<List<String>> bookedSeats);
+
+    /**
+     * Broadcasts a seat-state delta to the subscribers on every node.
+     */
+    void publish(Long showId, SeatEventType type, Collection<String> seatNumbers);
+}
@@ -0,0 +1,39 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.dto.response.SeatHoldResponse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface SeatHoldService {
+    /**
+     * Holds all seats for the owner or none of them. Fails if any seat is held by someone
+     * else or is currently locked by a booking in progress.
+     */
+    SeatHoldResponse hold(Long showId, Collection<String> seatNumbers, String owner);
+
+    /**
+     * Same as {@link #hold(Long, Collection, String)} with a hold time other than the configured one.
+     */
+    SeatHoldResponse hold(Long showId, Collection<String> seatNumbers, String owner, long ttlSeconds);
+
+    /**
+     * Pushes the expiry of the owner's live holds forward and returns the seats that were extended.
+     */
+    List<String> extend(Long showId, Collection<String> seatNumbers, String owner);
+
+    void release(Long showId, Collection<String> seatNumbers, String owner);
+
+    /**
+     * Returns the requested seats that carry a live hold of a different owner.
+     */
+    List<String> findHeldByOthers(Long showId, Collection<String> seatNumbers, String owner);
+
+    /**
+     * Returns every seat of the show that carries a live hold of a different owner.
+     */
+    Set<String> getSeatsHeldByOthers(Long showId, String owner);
+
+    long getHoldTtlSeconds();
+}
@@ -0,0 +1,67 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.enums.SeatCategory;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface SeatInventoryService {
+    /**
+     * Returns the requested seats that are already booked for the show.
+     * Throws if any seat is not part of the show's screen layout.
+     */
+    List<String> findUnavailable(Long showId, Collection<String> seatNumbers);
+
+    List<String> getUnavailableSeats(Long showId);
+
+    /**
+     * Returns the requested seats flagged in the shared held plane, or none when seat state is not
+     * shared. Only a hint: it includes the caller's own holds and can trail a lapsed hold briefly.
+     */
+    List<String> findFlaggedHeld(Long showId, Collection<String> seatNumbers);
+
+    /**
+     * Returns the seat's position in the show's screen layout. Throws for unknown seats.
+     */
+    int ordinalOf(Long showId, String seatNumber);
+
+    /**
+     * Returns the seat's configured category, or null when the screen has no seat plan. Throws for unknown seats.
+     */
+    SeatCategory categoryOf(Long showId, String seatNumber);
+
+    /**
+     * Returns the configured category of each seat, in order, resolving every label once against
+     * a single lookup of the show's layout. Throws for unknown seats.
+     */
+    SeatCategory[] categoriesOf(Long showId, List<String> seatNumbers);
+
+    /**
+     * Returns the best block of adjacent free seats of the category, ignoring the excluded seats.
+     * Empty when the show has no such block.
+     */
+    List<String> findBestBlock(Long showId, int count, SeatCategory category, Set<String> excludedSeats);
+
+    /**
+     * Per-category seat counts in the slots of {@link com.moviebooking.util.SeatOccupancyIndex}.
+     * Seats outside the layout are not counted.
+     */
+    long[] countPerCategory(Long showId, Collection<String> seatNumbers);
+
+    long[] capacityPerCategory(Long showId);
+
+    long[] freePerCategory(Long showId);
+
+    void markBooked(Long showId, Collection<String> seatNumbers);
+
+    void release(Long showId, Collection<String> seatNumbers);
+
+    /**
+     * Brings the local index up to date with seats found booked by another node. Applied immediately,
+     * without events or counters, since the booking that took them already published its own.
+     */
+    void observeBooked(Long showId, Collection<String> seatNumbers);
+
+    void evict(Long showId);
+}
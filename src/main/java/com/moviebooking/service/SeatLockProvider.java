@@ -0,0 +1,82 @@
+package com.moviebooking.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Backend for short-lived seat locks taken while a booking is written.
+ * Selected with {@code app.booking.lock.provider} (local, redis or postgres).
+ */
+public interface SeatLockProvider {
+    /**
+     * Opens a session whose lock calls together wait at most {@code maxWait} for seats locked
+     * elsewhere. How long acquired locks live is up to the provider and independent of the wait.
+     */
+    SeatLockSession openSession(Duration maxWait);
+
+    /**
+     * Whether locks only live as long as the surrounding database transaction, in which case
+     * they must be acquired inside it.
+     */
+    default boolean isTransactional() {
+        return false;
+    }
+
+    interface SeatLockSession extends AutoCloseable {
+        /**
+         * Locks every seat of the show or none of them; throws SeatLockedException naming the
+         * seats that are still locked elsewhere once the session's wait budget is spent.
+         */
+        void lockAll(Long showId, Collection<String> seatNumbers);
+
+        /**
+         * Locks the seats of several shows, all or none per show. Shows are taken in the map's
+         * iteration order unless the backend orders its locks across shows itself.
+         */
+        default void lockAll(Map<Long, ? extends Collection<String>> seatsByShow) {
+            seatsByShow.forEach(this::lockAll);
+        }
+
+        /**
+         * Releases every lock taken through this session.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Deadline shared by all lock calls of a session. Retrying backends back off exponentially,
+     * never sleeping past the deadline.
+     */
+    final class WaitBudget {
+        private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+        private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+        private final long deadlineNanos;
+        private long backoffNanos = MIN_BACKOFF_NANOS;
+
+        public WaitBudget(Duration maxWait) {
+            this.deadlineNanos = System.nanoTime() + maxWait.toNanos();
+        }
+
+        public long remainingNanos() {
+            return Math.max(0L, deadlineNanos - System.nanoTime());
+        }
+
+        /**
+         * Sleeps before the next attempt; false when the budget is spent and the caller should give up.
+         */
+        public boolean pause() {
+            long remaining = remainingNanos();
+            if (remaining == 0L || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+            LockSupport.parkNanos(Math.min(backoffNanos, remaining));
+            backoffNanos = Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.moviebooking.service;
+
+import com.moviebooking.util.SeatBitPlanes;
+
+import java.util.Collection;
+
+/**
+ * Cluster-wide seat state: per show, one Redis bit-plane of booked seats and one of held seats,
+ * addressed by seat layout ordinal. Enabled with {@code app.booking.seat-state.shared}; when
+ * disabled every update is a no-op and reads report the show as not seeded.
+ */
+public interface SeatStateService {
+    boolean isEnabled();
+
+    /**
+     * Reads both planes in one round trip.
+     */
+    SeatBitPlanes read(Long showId);
+
+    /**
+     * Stores the booked plane built from the database, unless the plane already exists or the
+     * show's seat version moved past the one read before the database query.
+     */
+    void seedBooked(Long showId, byte[] bookedPlane, long seenVersion);
+
+    void setBooked(Long showId, Collection<Integer> ordinals, boolean booked);
+
+    /**
+     * Sets or clears held bits; setting keeps the plane alive for at least the hold time.
+     */
+    void setHeld(Long showId, Collection<Integer> ordinals, boolean held, long ttlMillis);
+
+    void evict(Long showId);
+}
@@ -0,0 +1,34 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.dto.response.ShowCapacityResponse;
+
+import java.util.Collection;
+
+/**
+ * Remaining seats per show and seat category, kept as atomic counters in Redis and mirrored on
+ * each node. Bookings take their seats out before any seat lock or database work, so requests
+ * that cannot fit are turned away in O(1).
+ */
+public interface ShowCapacityService {
+    /**
+     * Takes the seats out of the remaining capacity of their categories, all or nothing. Throws
+     * SeatUnavailableException when a category cannot fit them. Returns false when nothing was
+     * taken because the gate is off or unreachable, in which case there is nothing to restore.
+     */
+    boolean reserve(Long showId, Collection<String> seatNumbers);
+
+    /**
+     * Hands back seats of a reservation whose booking did not go through.
+     */
+    void restore(Long showId, Collection<String> seatNumbers);
+
+    /**
+     * Hands back seats freed by a cancellation or modification once the surrounding transaction commits.
+     */
+    void seatsReleased(Long showId, Collection<String> seatNumbers);
+
+    /**
+     * Remaining seats and a sold-out / filling-fast summary, served from the local mirror while it is fresh.
+     */
+    ShowCapacityResponse capacity(Long showId);
+}
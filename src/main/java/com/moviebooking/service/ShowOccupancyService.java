@@ -0,0 +1,36 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.enums.SeatCategory;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Booked-seat counters per show and seat category, kept incrementally on book and cancel.
+ * Count arrays use the slots of {@link com.moviebooking.util.SeatOccupancyIndex}.
+ */
+public interface ShowOccupancyService {
+    /**
+     * Starts tracking the show until it starts. The booked counts seed the shared counters when
+     * they do not exist yet. Does nothing while dynamic pricing, the only reader, is off.
+     */
+    void register(Long showId, long[] capacity, Supplier<long[]> bookedCounts, long startsAtMillis);
+
+    /**
+     * Stops tracking the show; counts not reconciled yet are dropped.
+     */
+    void untrack(Long showId);
+
+    /**
+     * Adds (or with a negative sign, removes) booked seats per category slot.
+     */
+    void record(Long showId, long[] seatsPerCategory, int sign);
+
+    /**
+     * Booked share of the category's seats, or of the whole screen when it has no seat plan.
+     * Zero for shows that are not tracked.
+     */
+    double occupancy(Long showId, SeatCategory category);
+
+    Set<Long> trackedShows();
+}
@@ -0,0 +1,24 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.dto.response.WaitingRoomResponse;
+
+public interface WaitingRoomService {
+    void open(Long showId);
+
+    void close(Long showId);
+
+    /**
+     * Puts the user in the show's queue; joining again keeps the original place.
+     */
+    WaitingRoomResponse join(Long showId, String username);
+
+    /**
+     * Position and ETA for a ticket, answered from memory. Carries an admission token once admitted.
+     */
+    WaitingRoomResponse status(Long showId, String username, String ticket);
+
+    /**
+     * Throws unless the show has no active waiting room or the token admits this user to it.
+     */
+    void checkAdmission(Long showId, String username, String admissionToken);
+}
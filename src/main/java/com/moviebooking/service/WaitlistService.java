@@ -0,0 +1,31 @@
+package com.moviebooking.service;
+
+import com.moviebooking.model.dto.request.WaitlistRequest;
+import com.moviebooking.model.dto.response.WaitlistResponse;
+import com.moviebooking.model.enums.SeatCategory;
+
+import java.util.Collection;
+
+/**
+ * FIFO waitlists per show and seat category. Seats freed by cancellations are offered to the
+ * head of the line as time-bounded holds.
+ */
+public interface WaitlistService {
+    /**
+     * Joining again keeps the original place and updates the seat count.
+     */
+    WaitlistResponse join(Long showId, WaitlistRequest request, String username);
+
+    /**
+     * Returns the user's position, or the seats held for them once an offer was made.
+     */
+    WaitlistResponse status(Long showId, SeatCategory seatCategory, String username);
+
+    void leave(Long showId, SeatCategory seatCategory, String username);
+
+    /**
+     * Queues the seats for matching once the surrounding transaction commits. Matching runs in
+     * batches on a scheduler thread, never on the caller's.
+     */
+    void seatsReleased(Long showId, Collection<String> seatNumbers);
+}
@@ -0,0 +1,195 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.service.BookingQuotaService;
+import com.moviebooking.util.SeatKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding windows are approximated from two fixed-window counters: the current window's count plus
+ * the previous window's, weighted by how much of it still overlaps the sliding window. One script
+ * checks every limit of an attempt and increments them only if all fit. The estimates it returns
+ * are cached per node, so a user known to be over a limit is turned away without a round trip.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class BookingQuotaServiceImpl implements BookingQuotaService {
+    // KEYS[2i - 1], KEYS[2i] = current and previous window of limit i; ARGV = now, then max, window, amount per limit
+    // Returns {1-based index of the first limit hit or 0, millis until its window rolls, estimates per limit}
+    private static final String CHARGE_SCRIPT = """
+            local now = tonumber(ARGV[1])
+            local estimates = {}
+            local failed, retryAfter = 0, 0
+            for i = 1, #KEYS / 2 do
+                local max, window, amount = tonumber(ARGV[3 * i - 1]), tonumber(ARGV[3 * i]), tonumber(ARGV[3 * i + 1])
+                local elapsed = now % window
+                local current = tonumber(redis.call('GET', KEYS[2 * i - 1]) or '0')
+                local previous = tonumber(redis.call('GET', KEYS[2 * i]) or '0')
+                estimates[i] = math.floor(previous * (window - elapsed) / window + current)
+                if failed == 0 and estimates[i] + amount > max then
+                    failed, retryAfter = i, window - elapsed
+                end
+            end
+            if failed == 0 then
+                for i = 1, #KEYS / 2 do
+                    local window, amount = tonumber(ARGV[3 * i]), tonumber(ARGV[3 * i + 1])
+                    if amount > 0 then
+                        redis.call('INCRBY', KEYS[2 * i - 1], amount)
+                        redis.call('PEXPIRE', KEYS[2 * i - 1], 2 * window)
+                        estimates[i] = estimates[i] + amount
+                    end
+                end
+            end
+            return {failed, retryAfter, estimates}
+            """;
+
+    // KEYS = window counters; ARGV = amount per key; never goes below zero
+    private static final String REFUND_SCRIPT = """
+            for i = 1, #KEYS do
+                if redis.call('EXISTS', KEYS[i]) == 1 and redis.call('DECRBY', KEYS[i], ARGV[i]) < 0 then
+                    redis.call('SET', KEYS[i], 0, 'KEEPTTL')
+                end
+            end
+            return 1
+            """;
+
+    private final RedissonClient redissonClient;
+
+    // Config properties
+    @Value("${app.booking.quota.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.quota.seats-per-show:10}")
+    private long seatsPerShow;
+
+    @Value("${app.booking.quota.seats-per-user:40}")
+    private long seatsPerUser;
+
+    @Value("${app.booking.quota.seat-window-hours:24}")
+    private long seatWindowHours;
+
+    @Value("${app.booking.quota.bookings-per-window:10}")
+    private long bookingsPerWindow;
+
+    @Value("${app.booking.quota.booking-window-seconds:60}")
+    private long bookingWindowSeconds;
+
+    // How long a cached estimate may turn a user away on its own
+    @Value("${app.booking.quota.local-cache-millis:1000}")
+    private long localCacheMillis;
+
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    @Override
+    public Charge charge(String username, Map<Long, Integer> seatsByShow, int bookings) {
+        if (!enabled) {
+            return null;
+        }
+        long seatWindow = TimeUnit.HOURS.toMillis(seatWindowHours);
+        long totalSeats = seatsByShow.values().stream().mapToLong(Integer::longValue).sum();
+        List<Limit> limits = new ArrayList<>();
+        limits.add(new Limit("bookings", bookingsPerWindow, TimeUnit.SECONDS.toMillis(bookingWindowSeconds),
+                bookings, "Too many bookings"));
+        limits.add(new Limit("seats", seatsPerUser, seatWindow, totalSeats,
+                "Seat limit of " + seatsPerUser + " per user reached"));
+        seatsByShow.forEach((showId, seats) -> limits.add(new Limit("show:" + showId, seatsPerShow, seatWindow,
+                seats, "Seat limit of " + seatsPerShow + " per show reached for show " + showId)));
+
+        // Local pre-check: a fresh estimate already over the limit needs no round trip
+        long now = System.currentTimeMillis();
+        for (Limit limit : limits) {
+            Estimate estimate = estimates.get(cacheKey(username, limit));
+            if (estimate != null && now - estimate.atMillis() <= localCacheMillis
+                    && estimate.count() + limit.amount() > limit.max()) {
+                throw new CustomExceptions.TooManyRequestsException(limit.message());
+            }
+        }
+
+        List<Object> keys = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(now));
+        for (Limit limit : limits) {
+            long window = now / limit.windowMillis();
+            keys.add(SeatKeys.userQuota(username, limit.name(), window));
+            keys.add(SeatKeys.userQuota(username, limit.name(), window - 1));
+            args.add(String.valueOf(limit.max()));
+            args.add(String.valueOf(limit.windowMillis()));
+            args.add(String.valueOf(limit.amount()));
+        }
+        List<Object> result;
+        try {
+            result = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, CHARGE_SCRIPT,
+                    RScript.ReturnType.MULTI, keys, args.toArray());
+        } catch (RuntimeException e) {
+            log.warn("Booking quotas unavailable for user {}: {}", username, e.getMessage());
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Long> counts = (List<Long>) result.get(2);
+        for (int i = 0; i < limits.size(); i++) {
+            estimates.put(cacheKey(username, limits.get(i)), new Estimate(counts.get(i), now));
+        }
+        int failed = ((Long) result.get(0)).intValue();
+        if (failed > 0) {
+            long retrySeconds = Math.max(1L, TimeUnit.MILLISECONDS.toSeconds((Long) result.get(1)));
+            log.info("Booking by {} rejected by the {} limit", username, limits.get(failed - 1).name());
+            throw new CustomExceptions.TooManyRequestsException(limits.get(failed - 1).message()
+                    + "; try again in " + retrySeconds + "s");
+        }
+
+        // Seat counters only; the attempt itself stays counted against the rate limit
+        List<String> seatKeys = new ArrayList<>();
+        List<Long> seats = new ArrayList<>();
+        for (int i = 1; i < limits.size(); i++) {
+            seatKeys.add((String) keys.get(2 * i));
+            seats.add(limits.get(i).amount());
+        }
+        return new Charge(seatKeys, seats);
+    }
+
+    @Override
+    public void refund(Charge charge) {
+        if (charge == null) {
+            return;
+        }
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, REFUND_SCRIPT,
+                    RScript.ReturnType.INTEGER, new ArrayList<>(charge.seatKeys()),
+                    charge.seats().stream().map(String::valueOf).toArray());
+        } catch (RuntimeException e) {
+            // Costs the user seats until the window slides past them
+            log.warn("Failed to refund booking quota: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.quota.purge-millis:60000}")
+    public void purgeEstimates() {
+        long cutoff = System.currentTimeMillis() - localCacheMillis;
+        estimates.values().removeIf(estimate -> estimate.atMillis() < cutoff);
+    }
+
+    private String cacheKey(String username, Limit limit) {
+        return username + "|" + limit.name();
+    }
+
+    private record Limit(String name, long max, long windowMillis, long amount, String message) {
+    }
+
+    private record Estimate(long count, long atMillis) {
+    }
+}
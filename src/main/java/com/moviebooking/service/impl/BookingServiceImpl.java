@@ -2,53 +2,121 @@ package com.moviebooking.service.impl;
 
 import com.moviebooking.exception.CustomExceptions;
 import com.moviebooking.model.dto.request.BookingRequest;
+import com.moviebooking.model.dto.request.QuoteRequest;
+import com.moviebooking.model.dto.request.SeatAllocationRequest;
 import com.moviebooking.model.dto.request.SeatSelectionRequest;
 import com.moviebooking.model.dto.response.BookingResponse;
+import com.moviebooking.model.dto.response.PriceQuoteResponse;
+import com.moviebooking.model.dto.response.SeatHoldResponse;
+import com.moviebooking.model.dto.response.SliceResponse;
 import com.moviebooking.model.entity.*;
 import com.moviebooking.model.enums.BookingStatus;
+import com.moviebooking.model.enums.PaymentStatus;
 import com.moviebooking.model.enums.SeatCategory;
 import com.moviebooking.repository.BookingRepository;
 import com.moviebooking.repository.BookingSeatRepository;
 import com.moviebooking.repository.ShowRepository;
 import com.moviebooking.repository.UserRepository;
+import com.moviebooking.service.BookingQuotaService;
 import com.moviebooking.service.BookingService;
 import com.moviebooking.service.PaymentService;
+import com.moviebooking.service.PricingService;
 import com.moviebooking.service.PromoService;
+import com.moviebooking.service.SeatAvailabilityService;
+import com.moviebooking.service.SeatEventService;
+import com.moviebooking.service.SeatHoldService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatLockProvider;
+import com.moviebooking.service.ShowCapacityService;
+import com.moviebooking.service.WaitlistService;
 import com.moviebooking.util.EntityDtoMapper;
+import com.moviebooking.util.PageCursor;
+import com.moviebooking.util.PriceQuote;
+import com.moviebooking.util.PriceTable;
+import com.moviebooking.util.VersionedPayload;
 import lombok.RequiredArgsConstructor;
-import org.redisson.api.RLock;
-import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 public class BookingServiceImpl implements BookingService {
-    private static final long SEAT_LOCK_TIMEOUT_SEC = 120; // 2 minutes
     private static final Logger log = LoggerFactory.getLogger(BookingServiceImpl.class);
+    private static final int ALLOCATION_ATTEMPTS = 3;
+
     private final BookingRepository bookingRepository;
     private final ShowRepository showRepository;
     private final BookingSeatRepository bookingSeatRepository;
     private final PaymentService paymentService;
     private final UserRepository userRepository;
-    private final RedissonClient redissonClient;
     private final EntityDtoMapper mapper;
     private final PromoService promoService;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+    private final SeatEventService seatEventService;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final SeatLockProvider seatLockProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final PricingService pricingService;
+    private final ShowMailboxDispatcher showMailboxDispatcher;
+    private final WaitlistService waitlistService;
+    private final SeatContentionTracker seatContentionTracker;
+    private final ShowCapacityService showCapacityService;
+    private final BookingQuotaService bookingQuotaService;
+
+    // Config properties
+    // locked: seat locks plus a re-check; optimistic: insert and let the unique seat index decide
+    @Value("${app.booking.mode:locked}")
+    private String bookingMode;
+
+    // How long each operation may wait for seat locks held by someone else
+    @Value("${app.booking.lock.wait-millis.book:250}")
+    private long bookLockWaitMillis;
+
+    @Value("${app.booking.lock.wait-millis.modify:250}")
+    private long modifyLockWaitMillis;
+
+    @Value("${app.booking.lock.wait-millis.group:1000}")
+    private long groupLockWaitMillis;
+
+    // One request of a group booking after its pre-lock checks
+    private record GroupItem(BookingRequest request, List<String> heldSeats, List<String> seatsToLock) {
+    }
+
+    // A booking waiting on its show's mailbox for the next group commit
+    private record PendingBooking(BookingRequest request, String username,
+            CompletableFuture<BookingResponse> result) {
+    }
 
     @Override
     @CacheEvict(value = { "booking", "bookings" }, key = "#username")
@@ -59,35 +127,106 @@ public class BookingServiceImpl implements BookingService {
         // Validate input
         validateBookingRequest(request);
 
-        // Fetch entities
-        User user = getUserByUsername(username);
-        Show show = getShowById(request.showId());
+        // Requests over the user's quotas or beyond what the show can fit are turned away before any database or lock work
+        return withBookingGates(username, Map.of(request.showId(), request.seatNumbers()), 1, () -> {
+            // Fetch entities
+            User user = getUserByUsername(username);
+            Show show = getShowById(request.showId());
 
-        // Check seat availability first (before locking)
-        validateSeatsAvailable(show.getId(), request.seatNumbers(), null);
+            // Check seat availability first (before locking)
+            validateSeatsAvailable(show.getId(), request.seatNumbers());
 
-        // Process booking with distributed locking
-        return processBookingWithLocks(request, user, show);
+            // Process booking with distributed locking
+            return processBookingWithLocks(request, user, show);
+        });
     }
 
     @Override
     @CacheEvict(value = { "booking", "bookings" }, key = "#username")
-    public void lockSeats(SeatSelectionRequest request, String username) {
+    public CompletableFuture<BookingResponse> bookAsync(BookingRequest request, String username) {
+        validateBookingRequest(request);
+        if (!showMailboxDispatcher.isSerialized(request.showId())) {
+            return CompletableFuture.completedFuture(book(request, username));
+        }
+        PendingBooking pending = new PendingBooking(request, username, new CompletableFuture<>());
+        // Quota and capacity follow the booking through the mailbox and come back if it fails there
+        BookingQuotaService.Charge charge = bookingQuotaService.charge(username,
+                seatCounts(Map.of(request.showId(), request.seatNumbers())), 1);
+        boolean reserved;
+        try {
+            reserved = showCapacityService.reserve(request.showId(), request.seatNumbers());
+        } catch (RuntimeException e) {
+            bookingQuotaService.refund(charge);
+            throw e;
+        }
+        pending.result().whenComplete((response, error) -> {
+            if (error != null) {
+                if (reserved) {
+                    showCapacityService.restore(request.showId(), request.seatNumbers());
+                }
+                bookingQuotaService.refund(charge);
+            }
+        });
+        try {
+            showMailboxDispatcher.enqueue(request.showId(), pending, batch -> commitBatch(request.showId(), batch));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+            throw e;
+        }
+        return pending.result();
+    }
+
+    @Override
+    public SeatHoldResponse lockSeats(SeatSelectionRequest request, String username) {
+        Show show = getShowById(request.showId());
+
+        // Booked seats can never be held; everything else is decided atomically in Redis
+        validateSeatsAvailable(show.getId(), request.seatNumbers());
+        seatContentionTracker.checkUncontended(show.getId(), request.seatNumbers());
+        return seatHoldService.hold(show.getId(), request.seatNumbers(), username);
+    }
+
+    @Override
+    public SeatHoldResponse allocateSeats(SeatAllocationRequest request, String username) {
         Show show = getShowById(request.showId());
 
-        // Use try-with-resources pattern for automatic lock management
-        try (LockManager lockManager = new LockManager()) {
-            for (String seat : request.seatNumbers()) {
-                lockManager.acquireLock(getSeatLockKey(show.getId(), seat));
+        // Seats held by others are skipped up front; a hold that still loses a race excludes the block and retries
+        Set<String> excludedSeats = new HashSet<>(seatHoldService.getSeatsHeldByOthers(show.getId(), username));
+        for (int attempt = 0; attempt < ALLOCATION_ATTEMPTS; attempt++) {
+            List<String> block = seatInventoryService.findBestBlock(show.getId(), request.count(),
+                    request.seatCategory(), excludedSeats);
+            if (block.isEmpty()) {
+                break;
+            }
+            try {
+                return seatHoldService.hold(show.getId(), block, username);
+            } catch (CustomExceptions.SeatLockedException e) {
+                excludedSeats.addAll(block);
             }
-            // Seats are locked - they will be automatically released when lockManager is
-            // closed
         }
+        throw new CustomExceptions.SeatUnavailableException("No " + request.count() + " adjacent "
+                + request.seatCategory() + " seats available for show " + show.getId());
     }
 
     @Override
-    @Transactional
-    @CacheEvict(value = { "booking", "bookings" }, key = "#username")
+    public SeatHoldResponse extendSeatLocks(SeatSelectionRequest request, String username) {
+        List<String> extendedSeats = seatHoldService.extend(request.showId(), request.seatNumbers(), username);
+        if (extendedSeats.isEmpty()) {
+            throw new CustomExceptions.SeatLockedException("No active holds to extend for show " + request.showId());
+        }
+        return new SeatHoldResponse(request.showId(), extendedSeats,
+                LocalDateTime.now().plusSeconds(seatHoldService.getHoldTtlSeconds()));
+    }
+
+    @Override
+    public void releaseSeatLocks(SeatSelectionRequest request, String username) {
+        seatHoldService.release(request.showId(), request.seatNumbers(), username);
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(value = "booking", key = "#bookingId"),
+            @CacheEvict(value = "bookings", key = "#username") })
     public BookingResponse modifyBooking(Long bookingId, BookingRequest request, String username) {
         log.info("Modify booking request: {} by user: {}", bookingId, username);
 
@@ -95,83 +234,233 @@ public class BookingServiceImpl implements BookingService {
         User user = getUserByUsername(username);
         Booking booking = getBookingById(bookingId);
         validateBookingOwnership(booking, user);
+        // A cancelled booking would end up owning live seats that no cancel can release again
+        if (booking.getStatus() != BookingStatus.CONFIRMED) {
+            throw new CustomExceptions.InvalidRequestException("Only confirmed bookings can be modified: " + bookingId);
+        }
 
-        // Get old and new seats
+        // Get old and new seats; only seats the booking does not own yet are contended
         List<String> oldSeats = getBookingSeats(bookingId);
         List<String> newSeats = request.seatNumbers();
-        Set<String> allSeatsToLock = new HashSet<>();
-        allSeatsToLock.addAll(oldSeats);
-        if (newSeats != null) {
-            allSeatsToLock.addAll(newSeats);
-        }
+        List<String> addedSeats = newSeats != null ? addedSeats(oldSeats, newSeats) : List.of();
 
-        // Process modification with distributed locking
-        return processBookingModificationWithLocks(booking, request, oldSeats, newSeats, allSeatsToLock);
+        // Added seats need room in the show; check them against the seat index before locking
+        return withBookingGates(username, Map.of(booking.getShow().getId(), addedSeats), 1, () -> {
+            if (!addedSeats.isEmpty()) {
+                validateSeatsAvailable(booking.getShow().getId(), addedSeats);
+            }
+
+            // Process modification with distributed locking
+            return processBookingModificationWithLocks(booking, request, oldSeats, newSeats, addedSeats);
+        });
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = { "booking", "bookings" }, key = "#username")
+    @Caching(evict = {
+            @CacheEvict(value = "booking", key = "#bookingId"),
+            @CacheEvict(value = "bookings", key = "#username") })
     public void cancelBooking(Long bookingId, String username) {
         User user = getUserByUsername(username);
         Booking booking = getBookingById(bookingId);
         validateBookingOwnership(booking, user);
+        // A second cancel would release seats that may already belong to someone else
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new CustomExceptions.InvalidRequestException("Booking is already cancelled: " + bookingId);
+        }
 
+        Long showId = booking.getShow().getId();
+        List<String> seats = getBookingSeats(bookingId);
         booking.setStatus(BookingStatus.CANCELLED);
         bookingRepository.save(booking);
+        bookingSeatRepository.deactivateByBookingId(bookingId);
+
+        Payment payment = booking.getPayment();
+        if (payment != null && payment.getStatus() == PaymentStatus.SUCCESS) {
+            paymentService.refundPayment(payment.getId(), user.getId());
+        }
+
+        // All three only act once the cancellation has committed
+        seatInventoryService.release(showId, seats);
+        showCapacityService.seatsReleased(showId, seats);
+        waitlistService.seatsReleased(showId, seats);
 
         log.info("Booking {} cancelled by user: {}", bookingId, username);
     }
 
     @Override
-    @Transactional
+    @CacheEvict(value = { "booking", "bookings" }, key = "#username")
     public List<BookingResponse> groupBooking(List<BookingRequest> requests, String username) {
-        User user = getUserByUsername(username);
-        List<BookingResponse> responses = new ArrayList<>();
-        for (BookingRequest request : requests) {
-            responses.add(createBookingResponse(request, user));
+        if (requests == null || requests.isEmpty()) {
+            throw new CustomExceptions.InvalidRequestException("Group booking needs at least one booking");
+        }
+        requests.forEach(this::validateBookingRequest);
+        validateNoSharedSeats(requests);
+
+        Map<Long, List<String>> seatsByShow = new TreeMap<>();
+        requests.forEach(request -> seatsByShow.computeIfAbsent(request.showId(), id -> new ArrayList<>())
+                .addAll(request.seatNumbers()));
+        return withBookingGates(username, seatsByShow, requests.size(), () -> bookGroup(requests, username));
+    }
+
+    private List<BookingResponse> bookGroup(List<BookingRequest> requests, String username) {
+        // Every request is checked against the seat index and holds at the same time
+        List<GroupItem> items = prepareGroupItems(requests, username);
+
+        // All seats of all shows are locked up front and every booking commits in one transaction
+        Map<Long, List<String>> seatsToLock = new TreeMap<>();
+        items.forEach(item -> seatsToLock.computeIfAbsent(item.request().showId(), id -> new ArrayList<>())
+                .addAll(item.seatsToLock()));
+        List<BookingResponse> responses;
+        try {
+            if (isOptimisticMode()) {
+                responses = transactionTemplate.execute(status -> persistGroup(items, username));
+            } else {
+                responses = withSeatLocks(seatsToLock, Duration.ofMillis(groupLockWaitMillis), () -> {
+                    items.forEach(item -> validateSeatsStillAvailable(item.request().showId(),
+                            item.request().seatNumbers(), null));
+                    return persistGroup(items, username);
+                });
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (!isSeatUniquenessViolation(e)) {
+                throw e;
+            }
+            throw groupSeatConflict(items);
         }
+
+        items.stream()
+                .filter(item -> !item.heldSeats().isEmpty())
+                .forEach(item -> seatHoldService.release(item.request().showId(), item.heldSeats(), username));
+        log.info("Group booking of {} bookings created for user: {}", responses.size(), username);
         return responses;
     }
 
-    private BookingResponse createBookingResponse(BookingRequest request, User user) {
-        // Validate input
-        validateBookingRequest(request);
+    private void validateNoSharedSeats(List<BookingRequest> requests) {
+        Map<Long, Set<String>> claimedSeats = new HashMap<>();
+        for (BookingRequest request : requests) {
+            Set<String> claimed = claimedSeats.computeIfAbsent(request.showId(), id -> new HashSet<>());
+            List<String> shared = request.seatNumbers().stream()
+                    .filter(seat -> !claimed.add(seat))
+                    .collect(Collectors.toList());
+            if (!shared.isEmpty()) {
+                throw new CustomExceptions.InvalidRequestException(
+                        "Seats requested twice for show " + request.showId() + ": " + shared);
+            }
+        }
+    }
 
-        // Fetch show
-        Show show = getShowById(request.showId());
+    // Runs the pre-lock checks of all requests concurrently, so the group waits for the slowest show only
+    private List<GroupItem> prepareGroupItems(List<BookingRequest> requests, String username) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<GroupItem>> futures = requests.stream()
+                    .map(request -> CompletableFuture.supplyAsync(() -> prepareGroupItem(request, username), executor))
+                    .collect(Collectors.toList());
+            List<GroupItem> items = new ArrayList<>(futures.size());
+            for (CompletableFuture<GroupItem> future : futures) {
+                try {
+                    items.add(future.join());
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+            return items;
+        }
+    }
 
-        // Check seat availability first (before locking)
-        validateSeatsAvailable(show.getId(), request.seatNumbers(), null);
+    private GroupItem prepareGroupItem(BookingRequest request, String username) {
+        Long showId = request.showId();
+        validateSeatsAvailable(showId, request.seatNumbers());
+        List<String> heldSeats = seatHoldService.extend(showId, request.seatNumbers(), username);
+        List<String> seatsToLock = request.seatNumbers().stream()
+                .filter(seat -> !heldSeats.contains(seat))
+                .collect(Collectors.toList());
+        validateSeatsNotHeld(showId, seatsToLock, username);
+        return new GroupItem(request, heldSeats, seatsToLock);
+    }
 
-        // Process booking with distributed locking
-        return processBookingWithLocks(request, user, show);
+    // Must run inside the group's transaction
+    private List<BookingResponse> persistGroup(List<GroupItem> items, String username) {
+        User user = getUserByUsername(username);
+        Map<Long, Show> shows = showRepository.findAllById(items.stream().map(item -> item.request().showId())
+                .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Show::getId, show -> show));
+        List<BookingResponse> responses = new ArrayList<>(items.size());
+        for (GroupItem item : items) {
+            Show show = shows.get(item.request().showId());
+            if (show == null) {
+                throw new CustomExceptions.ShowNotFoundException("Show not found: " + item.request().showId());
+            }
+            // Authoritative hold check now that the seats are locked
+            validateSeatsNotHeld(show.getId(), item.seatsToLock(), username);
+            responses.add(mapper.toBookingResponse(persistBooking(item.request(), user, show)));
+        }
+        return responses;
+    }
+
+    private CustomExceptions.SeatUnavailableException groupSeatConflict(List<GroupItem> items) {
+        for (GroupItem item : items) {
+            List<String> conflictingSeats = bookingSeatRepository.findConflictingSeatNumbers(
+                    item.request().showId(), item.request().seatNumbers(), 0L);
+            if (!conflictingSeats.isEmpty()) {
+                return seatsTakenConcurrently(item.request().showId(), item.request().seatNumbers());
+            }
+        }
+        return new CustomExceptions.SeatUnavailableException("Seats already booked");
+    }
+
+    @Override
+    public PriceQuoteResponse quote(QuoteRequest request) {
+        PriceQuote quote = pricingService.quote(request.showId(), request.seatNumbers(), request.seatCategory(),
+                request.promoCodeId());
+        return new PriceQuoteResponse(request.showId(), request.seatNumbers(), PriceTable.toAmount(quote.subtotal()),
+                PriceTable.toAmount(quote.discount()), PriceTable.toAmount(quote.total()), quote.promoCodeId());
     }
 
     @Override
     @Cacheable(value = "booking", key = "#bookingId")
     public BookingResponse getBooking(Long bookingId, String username) {
-        User user = getUserByUsername(username);
-        Booking booking = getBookingById(bookingId);
-        validateBookingOwnership(booking, user);
+        Long userId = getUserIdByUsername(username);
+        BookingRepository.BookingRow row = bookingRepository.findRowById(bookingId)
+                .orElseThrow(() -> new CustomExceptions.BookingNotFoundException("Booking not found: " + bookingId));
+        if (!row.getUserId().equals(userId)) {
+            throw new CustomExceptions.AccessDeniedException("Not your booking");
+        }
 
-        return mapper.toBookingResponse(booking);
+        return toBookingResponses(List.of(row)).get(0);
     }
 
     @Override
-    public Page<BookingResponse> getBookingsByUser(String username, Pageable pageable) {
-        User user = getUserByUsername(username);
-        Page<Booking> bookings = bookingRepository.findByUserId(user.getId(), pageable);
-        return bookings.map(mapper::toBookingResponse);
+    public SliceResponse<BookingResponse> getBookingsByUser(String username, String cursor, int size) {
+        Long userId = getUserIdByUsername(username);
+        int limit = SliceResponse.clampSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(limit + 1);
+        List<BookingRepository.BookingRow> rows;
+        if (after == null) {
+            rows = bookingRepository.findRowsByUserId(userId, fetch);
+        } else {
+            rows = bookingRepository.findRowsByUserIdAfter(userId, parseCursorTime(after.sortKey()), after.id(),
+                    fetch);
+        }
+        return SliceResponse.of(rows, limit, this::toBookingResponses,
+                row -> new PageCursor(row.getBookingTime().toString(), row.getBookingId()));
     }
 
     @Override
     public List<String> getUnavailableSeats(Long showId) {
-        List<BookingSeat> seats = bookingSeatRepository.findByBooking_Show_Id(showId);
-        return seats.stream()
-                .filter(seat -> seat.getBooking().getStatus() != BookingStatus.CANCELLED)
-                .map(BookingSeat::getSeatNumber)
-                .collect(Collectors.toList());
+        return seatInventoryService.getUnavailableSeats(showId);
+    }
+
+    @Override
+    public SseEmitter subscribeToSeatMap(Long showId) {
+        Show show = getShowById(showId);
+        return seatEventService.subscribe(show.getId(), () -> seatInventoryService.getUnavailableSeats(show.getId()));
+    }
+
+    @Override
+    public Optional<VersionedPayload> getSeatAvailability(Long showId, Long sinceVersion) {
+        return seatAvailabilityService.getAvailability(showId, sinceVersion);
     }
 
     // Private helper methods
@@ -182,6 +471,10 @@ public class BookingServiceImpl implements BookingService {
         if (request.seatNumbers() == null || request.seatNumbers().isEmpty()) {
             throw new CustomExceptions.InvalidRequestException("Seat numbers cannot be empty");
         }
+        // Labels arrive canonical, so "a1" and "A1" count as the same seat here
+        if (new HashSet<>(request.seatNumbers()).size() != request.seatNumbers().size()) {
+            throw new CustomExceptions.InvalidRequestException("Seat numbers must not repeat");
+        }
         if (request.showId() == null) {
             throw new CustomExceptions.InvalidRequestException("Show ID cannot be null");
         }
@@ -192,6 +485,11 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new CustomExceptions.UserNotFoundException("User not found: " + username));
     }
 
+    private Long getUserIdByUsername(String username) {
+        return userRepository.findIdByUsername(username)
+                .orElseThrow(() -> new CustomExceptions.UserNotFoundException("User not found: " + username));
+    }
+
     private Show getShowById(Long showId) {
         return showRepository.findById(showId)
                 .orElseThrow(() -> new CustomExceptions.ShowNotFoundException("Show not found: " + showId));
@@ -208,190 +506,449 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    private LocalDateTime parseCursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new CustomExceptions.InvalidRequestException("Invalid page cursor");
+        }
+    }
+
+    // A page of bookings costs its row query plus one seat query, whatever the page size
+    private List<BookingResponse> toBookingResponses(List<BookingRepository.BookingRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<BookingSeatRepository.BookingSeatRow>> seatsByBooking = bookingSeatRepository
+                .findSeatRowsByBookingIds(rows.stream().map(BookingRepository.BookingRow::getBookingId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(BookingSeatRepository.BookingSeatRow::getBookingId));
+        return rows.stream()
+                .map(row -> mapper.toBookingResponse(row, seatsByBooking.getOrDefault(row.getBookingId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     private List<String> getBookingSeats(Long bookingId) {
         return bookingSeatRepository.findByBookingId(bookingId).stream()
                 .map(BookingSeat::getSeatNumber)
                 .collect(Collectors.toList());
     }
 
-    private void validateSeatsAvailable(Long showId, List<String> requestedSeats, Long excludeBookingId) {
-        Set<String> unavailableSeats = bookingSeatRepository.findByBooking_Show_Id(showId)
-                .stream()
-                .filter(seat -> seat.getBooking()
-                        .getStatus() != BookingStatus.CANCELLED)
-                .filter(seat -> excludeBookingId == null || !seat.getBooking()
-                        .getId()
-                        .equals(excludeBookingId))
-                .map(BookingSeat::getSeatNumber)
-                .collect(Collectors.toSet());
+    // Cheap pre-lock check against the in-memory seat index
+    private void validateSeatsAvailable(Long showId, List<String> requestedSeats) {
+        List<String> conflictingSeats = seatInventoryService.findUnavailable(showId, requestedSeats);
+        if (!conflictingSeats.isEmpty()) {
+            throw new CustomExceptions.SeatUnavailableException("Seats already booked: " + conflictingSeats);
+        }
+    }
 
-        List<String> conflictingSeats = requestedSeats.stream()
-                .filter(unavailableSeats::contains)
-                .collect(Collectors.toList());
+    // Seats someone else is holding stay off limits even when their seat lock is free
+    private void validateSeatsNotHeld(Long showId, List<String> seats, String username) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        List<String> heldSeats = seatHoldService.findHeldByOthers(showId, seats, username);
+        if (!heldSeats.isEmpty()) {
+            throw new CustomExceptions.SeatLockedException("Seats are held by another user: " + heldSeats);
+        }
+    }
 
+    // Authoritative post-lock check; only the conflicting seat numbers come back from the database
+    private void validateSeatsStillAvailable(Long showId, List<String> requestedSeats, Long excludeBookingId) {
+        List<String> conflictingSeats = bookingSeatRepository.findConflictingSeatNumbers(showId, requestedSeats,
+                excludeBookingId != null ? excludeBookingId : 0L);
         if (!conflictingSeats.isEmpty()) {
+            // Another node booked these seats; bring the local index up to date
+            seatInventoryService.observeBooked(showId, conflictingSeats);
             throw new CustomExceptions.SeatUnavailableException("Seats already booked: " + conflictingSeats);
         }
     }
 
     private BookingResponse processBookingWithLocks(BookingRequest request, User user, Show show) {
-        try (LockManager lockManager = new LockManager()) {
-            // Lock all seats
-            for (String seat : request.seatNumbers()) {
-                lockManager.acquireLock(getSeatLockKey(show.getId(), seat));
+        // Seats the caller already holds are converted as-is; their holds are extended to cover payment
+        List<String> heldSeats = seatHoldService.extend(show.getId(), request.seatNumbers(), user.getUsername());
+        List<String> seatsToLock = request.seatNumbers().stream()
+                .filter(seat -> !heldSeats.contains(seat))
+                .collect(Collectors.toList());
+        // Seats flagged in the shared held plane are confirmed against the holds before anything is locked
+        List<String> flaggedSeats = seatInventoryService.findFlaggedHeld(show.getId(), seatsToLock);
+        validateSeatsNotHeld(show.getId(), flaggedSeats, user.getUsername());
+
+        Booking booking;
+        try {
+            if (isOptimisticMode()) {
+                // No seat locks: the unique active-seat index rejects a double booking at insert time
+                booking = transactionTemplate.execute(status -> {
+                    validateSeatsNotHeld(show.getId(), seatsToLock, user.getUsername());
+                    return persistBooking(request, user, show);
+                });
+            } else {
+                // Lock remaining seats and persist the booking in one transaction
+                booking = withSeatLocks(show.getId(), seatsToLock, Duration.ofMillis(bookLockWaitMillis), () -> {
+                    validateSeatsNotHeld(show.getId(), seatsToLock, user.getUsername());
+                    // Double-check seat availability after locking
+                    validateSeatsStillAvailable(show.getId(), request.seatNumbers(), null);
+                    return persistBooking(request, user, show);
+                });
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw translateSeatConflict(e, show.getId(), request.seatNumbers());
+        }
+        if (!heldSeats.isEmpty()) {
+            seatHoldService.release(show.getId(), heldSeats, user.getUsername());
+        }
+
+        log.info("Booking created: {} for user: {}", booking.getId(), user.getUsername());
+        return mapper.toBookingResponse(booking);
+    }
+
+    // Group commit on the show's mailbox thread. Seat conflicts inside the batch are settled in memory,
+    // losers fail straight away and all winners are written in one transaction with one batched flush.
+    private void commitBatch(Long showId, List<PendingBooking> batch) {
+        List<PendingBooking> winners = new ArrayList<>();
+        Map<PendingBooking, List<String>> convertedHolds = new HashMap<>();
+        Set<String> claimedSeats = new HashSet<>();
+        for (PendingBooking pending : batch) {
+            try {
+                List<String> seats = pending.request().seatNumbers();
+                validateSeatsAvailable(showId, seats);
+                List<String> takenInBatch = seats.stream()
+                        .filter(claimedSeats::contains)
+                        .collect(Collectors.toList());
+                if (!takenInBatch.isEmpty()) {
+                    throw new CustomExceptions.SeatUnavailableException("Seats already booked: " + takenInBatch);
+                }
+                List<String> heldSeats = seatHoldService.extend(showId, seats, pending.username());
+                validateSeatsNotHeld(showId, seats.stream()
+                        .filter(seat -> !heldSeats.contains(seat))
+                        .collect(Collectors.toList()), pending.username());
+                claimedSeats.addAll(seats);
+                convertedHolds.put(pending, heldSeats);
+                winners.add(pending);
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+        if (winners.isEmpty()) {
+            return;
+        }
+
+        List<BookingResponse> responses;
+        try {
+            // No open session on this thread, so responses are mapped before the transaction ends
+            responses = transactionTemplate.execute(status -> {
+                Show show = getShowById(showId);
+                List<BookingResponse> mapped = new ArrayList<>();
+                List<Booking> bookings = new ArrayList<>();
+                for (PendingBooking pending : winners) {
+                    Booking booking = createBooking(getUserByUsername(pending.username()), show, pending.request());
+                    paymentService.preparePayment(booking, pending.request().paymentMethod());
+                    bookings.add(booking);
+                }
+                bookingRepository.flush();
+                seatInventoryService.markBooked(showId, claimedSeats);
+                bookings.forEach(booking -> mapped.add(mapper.toBookingResponse(booking)));
+                return mapped;
+            });
+        } catch (RuntimeException e) {
+            // One bad booking, e.g. a seat taken on another node, rolls back the group: settle them one by one
+            log.warn("Group commit of {} bookings for show {} failed, retrying individually: {}", winners.size(),
+                    showId, e.getMessage());
+            winners.forEach(this::completeSerialized);
+            return;
+        }
+
+        for (int i = 0; i < winners.size(); i++) {
+            PendingBooking pending = winners.get(i);
+            List<String> heldSeats = convertedHolds.get(pending);
+            try {
+                if (!heldSeats.isEmpty()) {
+                    seatHoldService.release(showId, heldSeats, pending.username());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to release converted holds {} for show {}", heldSeats, showId, e);
             }
+            pending.result().complete(responses.get(i));
+        }
+        log.info("Group commit of {} bookings for show {} ({} rejected)", winners.size(), showId,
+                batch.size() - winners.size());
+    }
+
+    private void completeSerialized(PendingBooking pending) {
+        try {
+            pending.result().complete(bookSerialized(pending.request(), pending.username()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
 
-            // Call transactional persistBooking
-            Booking booking = persistBooking(request, user, show);
+    // Single booking on the show's mailbox thread: the in-memory seat index is current for this node,
+    // so no seat locks are taken. The unique active-seat index still guards other nodes.
+    private BookingResponse bookSerialized(BookingRequest request, String username) {
+        Long showId = request.showId();
+        validateSeatsAvailable(showId, request.seatNumbers());
 
-            log.info("Booking created: {} for user: {}", booking.getId(), user.getUsername());
-            return mapper.toBookingResponse(booking);
+        List<String> heldSeats = seatHoldService.extend(showId, request.seatNumbers(), username);
+        List<String> otherSeats = request.seatNumbers().stream()
+                .filter(seat -> !heldSeats.contains(seat))
+                .collect(Collectors.toList());
+
+        BookingResponse response;
+        try {
+            // No open session on this thread, so the response is mapped before the transaction ends
+            response = transactionTemplate.execute(status -> {
+                User user = getUserByUsername(username);
+                Show show = getShowById(showId);
+                validateSeatsNotHeld(showId, otherSeats, username);
+                return mapper.toBookingResponse(persistBooking(request, user, show));
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw translateSeatConflict(e, showId, request.seatNumbers());
+        }
+        if (!heldSeats.isEmpty()) {
+            seatHoldService.release(showId, heldSeats, username);
         }
+
+        log.info("Booking created: {} for user: {} (serialized)", response.bookingId(), username);
+        return response;
     }
 
-    @Transactional
+    // Must run inside the booking transaction. Ids come from pooled sequences, so the booking,
+    // its seats and its payment are written as three batched inserts at the flush.
     private Booking persistBooking(BookingRequest request, User user, Show show) {
-        // Double-check seat availability after locking
-        validateSeatsAvailable(show.getId(), request.seatNumbers(), null);
-
-        // Create booking
         Booking booking = createBooking(user, show, request);
 
-        // Handle payment
-        paymentService.processPayment(null, booking.getId(), user.getId());
+        // Handle payment; inserted with the booking through the cascade
+        paymentService.preparePayment(booking, request.paymentMethod());
+
+        // Flushing here surfaces seat uniqueness violations inside the transaction
+        bookingRepository.flush();
+        seatInventoryService.markBooked(show.getId(), request.seatNumbers());
 
         return booking;
     }
 
+    // Seats the booking keeps or gives up are already its own, so only the added ones are locked
     private BookingResponse processBookingModificationWithLocks(Booking booking, BookingRequest request,
-            List<String> oldSeats, List<String> newSeats,
-            Set<String> allSeatsToLock) {
-        try (LockManager lockManager = new LockManager()) {
-            // Lock all seats
-            for (String seat : allSeatsToLock) {
-                lockManager.acquireLock(getSeatLockKey(booking.getShow().getId(), seat));
-            }
+            List<String> oldSeats, List<String> newSeats, List<String> addedSeats) {
+        Long showId = booking.getShow().getId();
+        try {
+            return withSeatLocks(showId, addedSeats, Duration.ofMillis(modifyLockWaitMillis),
+                    () -> modifyLockedBooking(booking, request, oldSeats, newSeats, addedSeats));
+        } catch (DataIntegrityViolationException e) {
+            throw translateSeatConflict(e, showId, addedSeats);
+        }
+    }
 
-            // Check new seats availability (excluding current booking)
-            if (newSeats != null && !newSeats.isEmpty()) {
-                validateSeatsAvailable(booking.getShow().getId(), newSeats, booking.getId());
-                updateBookingSeats(booking, newSeats, request.seatCategory().name());
-            }
+    private BookingResponse modifyLockedBooking(Booking booking, BookingRequest request, List<String> oldSeats,
+            List<String> newSeats, List<String> addedSeats) {
+        Long showId = booking.getShow().getId();
+        // A cancel that slipped in since the first check must not be merged back over
+        if (getBookingById(booking.getId()).getStatus() != BookingStatus.CONFIRMED) {
+            throw new CustomExceptions.InvalidRequestException(
+                    "Only confirmed bookings can be modified: " + booking.getId());
+        }
+        // Check added seats availability (excluding current booking)
+        if (!addedSeats.isEmpty()) {
+            validateSeatsNotHeld(showId, addedSeats, booking.getUser().getUsername());
+            validateSeatsStillAvailable(showId, addedSeats, booking.getId());
+        }
+        // Reprice the final seats with the new promo code, or the one the booking already had
+        Long promoCodeId = request.promoCodeId() != null ? request.promoCodeId()
+                : booking.getPromoCode() != null ? booking.getPromoCode().getId() : null;
+        boolean seatsChanged = newSeats != null && !newSeats.isEmpty();
+        PriceQuote quote = pricingService.quote(showId, seatsChanged ? newSeats : oldSeats, request.seatCategory(),
+                promoCodeId);
+        if (seatsChanged) {
+            updateBookingSeats(booking, newSeats, addedSeats, quote);
+        }
+        applyQuote(booking, quote);
+
+        bookingRepository.save(booking);
+        log.info("Booking {} modified by user: {}", booking.getId(), booking.getUser().getUsername());
+        return mapper.toBookingResponse(booking);
+    }
+
+    private boolean isOptimisticMode() {
+        return "optimistic".equalsIgnoreCase(bookingMode);
+    }
+
+    private boolean isSeatUniquenessViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(BookingSeat.ACTIVE_SEAT_INDEX);
+    }
+
+    private RuntimeException translateSeatConflict(DataIntegrityViolationException e, Long showId,
+            List<String> seats) {
+        return isSeatUniquenessViolation(e) ? seatsTakenConcurrently(showId, seats) : e;
+    }
+
+    private CustomExceptions.SeatUnavailableException seatsTakenConcurrently(Long showId, List<String> seats) {
+        List<String> conflictingSeats = bookingSeatRepository.findConflictingSeatNumbers(showId, seats, 0L);
+        seatInventoryService.observeBooked(showId, conflictingSeats);
+        return new CustomExceptions.SeatUnavailableException(
+                "Seats already booked: " + (conflictingSeats.isEmpty() ? seats : conflictingSeats));
+    }
 
-            // Apply promo code if given
-            if (request.promoCodeId() != null) {
-                PromoCode promoCode = promoService.getPromoCodeById(request.promoCodeId());
-                if (promoCode != null) {
-                    BigDecimal discount = promoService.calculateDiscount(promoCode, booking);
-                    booking.setTotalAmount(booking.getTotalAmount().subtract(discount));
-                    booking.setPromoCode(promoCode);
+    // Charges the user's quotas and takes the seats out of each show's remaining capacity before the
+    // booking runs; both are handed back if it fails
+    private <T> T withBookingGates(String username, Map<Long, List<String>> seatsByShow, int bookings,
+            Supplier<T> booking) {
+        BookingQuotaService.Charge charge = bookingQuotaService.charge(username, seatCounts(seatsByShow), bookings);
+        Map<Long, List<String>> reserved = new HashMap<>();
+        try {
+            seatsByShow.forEach((showId, seats) -> {
+                if (showCapacityService.reserve(showId, seats)) {
+                    reserved.put(showId, seats);
                 }
+            });
+            return booking.get();
+        } catch (RuntimeException e) {
+            reserved.forEach(showCapacityService::restore);
+            bookingQuotaService.refund(charge);
+            throw e;
+        }
+    }
+
+    private Map<Long, Integer> seatCounts(Map<Long, List<String>> seatsByShow) {
+        Map<Long, Integer> counts = new TreeMap<>();
+        seatsByShow.forEach((showId, seats) -> counts.put(showId, (int) seats.stream().distinct().count()));
+        return counts;
+    }
+
+    private <T> T withSeatLocks(Long showId, Collection<String> seatNumbers, Duration maxWait, Supplier<T> work) {
+        return withSeatLocks(Map.of(showId, seatNumbers), maxWait, work);
+    }
+
+    // Runs the write in one transaction while the seats are locked. Transactional lock providers
+    // acquire inside it; the others acquire before it so their locks outlive the commit.
+    // Shows are locked in id order and seats in layout order, so overlapping requests cannot take them in opposite orders
+    private <T> T withSeatLocks(Map<Long, ? extends Collection<String>> seatsByShow, Duration maxWait,
+            Supplier<T> work) {
+        Map<Long, List<String>> orderedSeats = new TreeMap<>();
+        seatsByShow.forEach((showId, seatNumbers) -> orderedSeats.put(showId, seatNumbers.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt(seat -> seatInventoryService.ordinalOf(showId, seat)))
+                .collect(Collectors.toList())));
+        // Seats someone is already buying fail here instead of waiting out the budget
+        orderedSeats.forEach(seatContentionTracker::checkUncontended);
+
+        Map<Long, List<String>> lockedSeats = new HashMap<>();
+        try (SeatLockProvider.SeatLockSession locks = seatLockProvider.openSession(maxWait)) {
+            if (!seatLockProvider.isTransactional()) {
+                lockTracked(locks, orderedSeats, lockedSeats);
             }
+            return transactionTemplate.execute(status -> {
+                if (seatLockProvider.isTransactional()) {
+                    lockTracked(locks, orderedSeats, lockedSeats);
+                }
+                return work.get();
+            });
+        } finally {
+            lockedSeats.forEach(seatContentionTracker::purchaseEnded);
+        }
+    }
 
-            bookingRepository.save(booking);
-            log.info("Booking {} modified by user: {}", booking.getId(), booking.getUser().getUsername());
-            return mapper.toBookingResponse(booking);
+    private void lockTracked(SeatLockProvider.SeatLockSession locks, Map<Long, List<String>> seatsByShow,
+            Map<Long, List<String>> lockedSeats) {
+        try {
+            locks.lockAll(seatsByShow);
+        } catch (CustomExceptions.SeatLockedException e) {
+            if (e.getShowId() != null) {
+                seatContentionTracker.lockLost(e.getShowId(), e.getSeatNumbers());
+            }
+            throw e;
         }
+        seatsByShow.forEach(seatContentionTracker::purchaseStarted);
+        lockedSeats.putAll(seatsByShow);
     }
 
     private Booking createBooking(User user, Show show, BookingRequest request) {
-        BigDecimal totalAmount = show.getPrice().multiply(BigDecimal.valueOf(request.seatNumbers().size()));
-
         Booking booking = Booking.builder()
                 .user(user)
                 .show(show)
                 .bookingTime(LocalDateTime.now())
-                .totalAmount(totalAmount)
                 .status(BookingStatus.CONFIRMED)
                 .build();
 
-        bookingRepository.save(booking);
-
-        // Create booking seats in batch
-        List<BookingSeat> bookingSeats = request.seatNumbers().stream()
-                .map(seat -> BookingSeat.builder()
-                        .booking(booking)
-                        .seatNumber(seat)
-                        .seatCategory(request.seatCategory())
-                        .price(show.getPrice())
-                        .build())
-                .collect(Collectors.toList());
-
-        bookingSeatRepository.saveAll(bookingSeats);
+        // Price and promo are settled before the insert so the final amount goes out with it
+        List<String> seats = request.seatNumbers();
+        PriceQuote quote = pricingService.quote(show.getId(), seats, request.seatCategory(), request.promoCodeId());
+        applyQuote(booking, quote);
 
-        // Apply promo code if given
-        if (request.promoCodeId() != null) {
-            PromoCode promoCode = promoService.getPromoCodeById(request.promoCodeId());
-            if (promoCode != null) {
-                BigDecimal discount = promoService.calculateDiscount(promoCode, booking);
-                booking.setTotalAmount(booking.getTotalAmount().subtract(discount));
-                booking.setPromoCode(promoCode);
-            }
+        // Seats go in with the booking through the cascade; a collection swapped in after the save
+        // would count as a change and cost an extra UPDATE of the booking row
+        Set<BookingSeat> bookingSeats = new HashSet<>();
+        for (int i = 0; i < seats.size(); i++) {
+            bookingSeats.add(buildBookingSeat(booking, show, seats.get(i), quote, i));
         }
+        booking.setBookingSeats(bookingSeats);
+        bookingRepository.save(booking);
 
         return booking;
     }
 
-    private void updateBookingSeats(Booking booking, List<String> newSeats, String seatCategory) {
-        // Remove old seats
-        List<BookingSeat> oldBookingSeats = bookingSeatRepository.findByBookingId(booking.getId());
-        bookingSeatRepository.deleteAll(oldBookingSeats);
-
-        // Add new seats
-        List<BookingSeat> newBookingSeats = newSeats.stream()
-                .map((String seat) -> BookingSeat.builder()
-                        .booking(booking)
-                        .seatNumber(seat)
-                        .seatCategory(SeatCategory.valueOf(seatCategory))
-                        .price(booking.getShow()
-                                .getPrice())
-                        .build())
-                .collect(Collectors.toList());
-
-        bookingSeatRepository.saveAll(newBookingSeats);
-
-        // Update total amount
-        BigDecimal newTotal = booking.getShow().getPrice().multiply(BigDecimal.valueOf(newSeats.size()));
-        booking.setTotalAmount(newTotal);
-
-        // Apply promo code if given
-        if (booking.getPromoCode() != null) {
-            PromoCode promoCode = booking.getPromoCode();
-            BigDecimal discount = promoService.calculateDiscount(promoCode, booking);
-            booking.setTotalAmount(booking.getTotalAmount().subtract(discount));
+    // Minor-unit amounts become BigDecimal only here, on their way into the entities
+    private void applyQuote(Booking booking, PriceQuote quote) {
+        booking.setTotalAmount(PriceTable.toAmount(quote.total()));
+        if (quote.promoCodeId() != null) {
+            booking.setPromoCode(promoService.getPromoCodeById(quote.promoCodeId()));
         }
     }
 
-    private String getSeatLockKey(Long showId, String seatNumber) {
-        return "lock:show:" + showId + ":seat:" + seatNumber;
+    // The seat is the quote's i-th; its category and price were resolved when the quote was made
+    private BookingSeat buildBookingSeat(Booking booking, Show show, String seat, PriceQuote quote, int i) {
+        return BookingSeat.builder()
+                .booking(booking)
+                .show(show)
+                .seatNumber(seat)
+                .seatCategory(quote.categories()[i])
+                .price(PriceTable.toAmount(quote.prices()[i]))
+                .build();
     }
 
-    // Lock management utility
-    private class LockManager implements AutoCloseable {
-        private final List<RLock> acquiredLocks = new ArrayList<>();
-
-        public void acquireLock(String lockKey) {
-            try {
-                RLock lock = redissonClient.getLock(lockKey);
-                boolean locked = lock.tryLock(SEAT_LOCK_TIMEOUT_SEC, SEAT_LOCK_TIMEOUT_SEC, TimeUnit.SECONDS);
-                if (!locked) {
-                    throw new CustomExceptions.SeatLockedException("Seat is locked by another user");
-                }
-                acquiredLocks.add(lock);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new CustomExceptions.SeatLockedException("Seat lock interrupted");
-            }
+    // Only the difference is written: removed seats are deleted, added ones inserted, kept seats left alone
+    private void updateBookingSeats(Booking booking, List<String> newSeats, List<String> addedSeats,
+            PriceQuote quote) {
+        Long showId = booking.getShow().getId();
+        Set<String> keptSeats = new HashSet<>(newSeats);
+        List<BookingSeat> removedBookingSeats = bookingSeatRepository.findByBookingId(booking.getId()).stream()
+                .filter(seat -> !keptSeats.contains(seat.getSeatNumber()))
+                .collect(Collectors.toList());
+        List<String> removedSeats = removedBookingSeats.stream()
+                .map(BookingSeat::getSeatNumber)
+                .collect(Collectors.toList());
+        if (!removedBookingSeats.isEmpty()) {
+            bookingSeatRepository.deleteAll(removedBookingSeats);
         }
 
-        @Override
-        public void close() {
-            for (RLock lock : acquiredLocks) {
-                if (lock.isHeldByCurrentThread()) {
-                    lock.unlock();
-                }
+        // The quote covers all new seats; only the added ones are inserted
+        Set<String> added = new HashSet<>(addedSeats);
+        List<BookingSeat> addedBookingSeats = new ArrayList<>();
+        for (int i = 0; i < newSeats.size(); i++) {
+            if (added.contains(newSeats.get(i))) {
+                addedBookingSeats.add(buildBookingSeat(booking, booking.getShow(), newSeats.get(i), quote, i));
             }
-            log.debug("Released {} seat locks", acquiredLocks.size());
         }
+        bookingSeatRepository.saveAll(addedBookingSeats);
+
+        // Flushing here surfaces seat uniqueness violations inside the transaction
+        bookingSeatRepository.flush();
+        if (!removedSeats.isEmpty()) {
+            seatInventoryService.release(showId, removedSeats);
+            showCapacityService.seatsReleased(showId, removedSeats);
+            waitlistService.seatsReleased(showId, removedSeats);
+        }
+        if (!addedSeats.isEmpty()) {
+            seatInventoryService.markBooked(showId, addedSeats);
+        }
+    }
+
+    private List<String> addedSeats(List<String> oldSeats, List<String> newSeats) {
+        Set<String> ownedSeats = new HashSet<>(oldSeats);
+        return newSeats.stream()
+                .distinct()
+                .filter(seat -> !ownedSeats.contains(seat))
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
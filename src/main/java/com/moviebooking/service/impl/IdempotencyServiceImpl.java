@@ -0,0 +1,242 @@
+package com.moviebooking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.service.IdempotencyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency records are JSON strings in Redis: PENDING while the first attempt runs, then DONE
+ * with the result. Repeats on the same node share the in-flight future; repeats on other nodes
+ * poll the record until it is done. A PENDING record lives as long as a booking can take, and
+ * each attempt only ever replaces or deletes its own PENDING record.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private static final String PENDING = "PENDING";
+    private static final String DONE = "DONE";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // KEYS[1] = record; ARGV = this attempt's PENDING value; deletes the record only while it still holds that value
+    private static final String RELEASE_SCRIPT = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """;
+
+    // KEYS[1] = record; ARGV = this attempt's PENDING value, DONE value, ttl millis; replaces only its own PENDING
+    private static final String COMPLETE_SCRIPT = """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """;
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+
+    // Config properties
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    // Added on top of the booking's own budgets for how long a first attempt may stay PENDING
+    @Value("${app.idempotency.pending-slack-seconds:10}")
+    private long pendingSlackSeconds;
+
+    @Value("${app.booking.lock.wait-millis.book:250}")
+    private long lockWaitMillis;
+
+    @Value("${app.booking.lock.lease-seconds:30}")
+    private long lockLeaseSeconds;
+
+    @Value("${app.booking.hot-show.enabled:false}")
+    private boolean hotShowEnabled;
+
+    @Value("${app.booking.hot-show.mailbox-capacity:1000}")
+    private int mailboxCapacity;
+
+    @Value("${app.booking.hot-show.requests-per-second:50}")
+    private int hotRequestsPerSecond;
+
+    @Value("${app.idempotency.wait-seconds:30}")
+    private long waitSeconds;
+
+    @Value("${app.idempotency.poll-millis:200}")
+    private long pollMillis;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public <T> CompletableFuture<T> execute(String username, String key, Object request, Class<T> resultType,
+            Supplier<CompletableFuture<T>> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new CustomExceptions.InvalidRequestException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH
+                    + " characters");
+        }
+        String recordKey = "idempotency:" + username + ":" + key;
+        String fingerprint = fingerprint(request);
+        return attempt(recordKey, fingerprint, resultType, operation,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(waitSeconds));
+    }
+
+    private <T> CompletableFuture<T> attempt(String recordKey, String fingerprint, Class<T> resultType,
+            Supplier<CompletableFuture<T>> operation, long deadline) {
+        RBucket<String> bucket = redissonClient.getBucket(recordKey, StringCodec.INSTANCE);
+        String pending = write(new IdempotencyRecord(PENDING, fingerprint, null, UUID.randomUUID().toString()));
+        if (bucket.setIfAbsent(pending, pendingTtl())) {
+            return runFirst(recordKey, pending, fingerprint, operation);
+        }
+
+        IdempotencyRecord existing = read(bucket);
+        if (existing == null) {
+            // Expired or abandoned between the two calls
+            return attempt(recordKey, fingerprint, resultType, operation, deadline);
+        }
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw new CustomExceptions.InvalidRequestException(
+                    "Idempotency-Key was already used for a different request");
+        }
+        if (DONE.equals(existing.state())) {
+            return CompletableFuture.completedFuture(toResult(existing, resultType));
+        }
+        CompletableFuture<Object> local = inFlight.get(recordKey);
+        if (local != null) {
+            return local.thenApply(resultType::cast);
+        }
+        return awaitRemote(recordKey, fingerprint, resultType, operation, deadline);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> runFirst(String recordKey, String pending, String fingerprint,
+            Supplier<CompletableFuture<T>> operation) {
+        CompletableFuture<T> result;
+        try {
+            result = operation.get();
+        } catch (RuntimeException e) {
+            release(recordKey, pending);
+            throw e;
+        }
+        inFlight.put(recordKey, (CompletableFuture<Object>) result);
+        return result.whenComplete((value, error) -> {
+            inFlight.remove(recordKey);
+            try {
+                if (error != null) {
+                    // Failures are not replayed; the next attempt runs again
+                    release(recordKey, pending);
+                } else {
+                    String done = write(new IdempotencyRecord(DONE, fingerprint, objectMapper.valueToTree(value), null));
+                    long changed = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                            COMPLETE_SCRIPT, RScript.ReturnType.INTEGER, List.of(recordKey), pending, done,
+                            String.valueOf(TimeUnit.HOURS.toMillis(ttlHours)));
+                    if (changed == 0) {
+                        log.warn("Idempotency record {} was no longer this attempt's; result not stored", recordKey);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // The operation itself went through; only its replay record is lost
+                log.error("Failed to store idempotency record {}", recordKey, e);
+            }
+        });
+    }
+
+    private void release(String recordKey, String pending) {
+        redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, RELEASE_SCRIPT,
+                RScript.ReturnType.INTEGER, List.of(recordKey), pending);
+    }
+
+    // Longest a first attempt can run: its lock wait, a full hot-show mailbox draining at the hot
+    // rate, and a critical section bounded by the lock lease, plus slack
+    Duration pendingTtl() {
+        long mailboxMillis = hotShowEnabled ? mailboxCapacity * 1000L / Math.max(1, hotRequestsPerSecond) : 0L;
+        return Duration.ofMillis(lockWaitMillis + mailboxMillis
+                + TimeUnit.SECONDS.toMillis(lockLeaseSeconds + pendingSlackSeconds));
+    }
+
+    // Polls without holding a thread between checks
+    private <T> CompletableFuture<T> awaitRemote(String recordKey, String fingerprint, Class<T> resultType,
+            Supplier<CompletableFuture<T>> operation, long deadline) {
+        if (System.currentTimeMillis() > deadline) {
+            return CompletableFuture.failedFuture(new CustomExceptions.RequestInProgressException(
+                    "A request with this Idempotency-Key is still in progress"));
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(pollMillis, TimeUnit.MILLISECONDS))
+                .thenCompose(ignored -> {
+                    IdempotencyRecord current = read(redissonClient.getBucket(recordKey, StringCodec.INSTANCE));
+                    if (current == null) {
+                        // The first attempt failed; this one takes over
+                        return attempt(recordKey, fingerprint, resultType, operation, deadline);
+                    }
+                    if (DONE.equals(current.state())) {
+                        return CompletableFuture.completedFuture(toResult(current, resultType));
+                    }
+                    return awaitRemote(recordKey, fingerprint, resultType, operation, deadline);
+                });
+    }
+
+    private <T> T toResult(IdempotencyRecord record, Class<T> resultType) {
+        try {
+            return objectMapper.treeToValue(record.result(), resultType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord read(RBucket<String> bucket) {
+        String value = bucket.get();
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable idempotency record", e);
+        }
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize idempotency record", e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    // attempt tells PENDING records of different attempts apart; DONE records leave it null
+    private record IdempotencyRecord(String state, String fingerprint, JsonNode result, String attempt) {
+    }
+}
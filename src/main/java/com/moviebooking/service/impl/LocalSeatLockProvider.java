@@ -0,0 +1,99 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.service.SeatLockProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process seat locks for single-node deployments: a fixed array of {@link ReentrantLock}s
+ * striped by (show id, seat). A session takes all stripes of a request in stripe-index order,
+ * each stripe once, so bookings only wait on bookings whose seats share a stripe and two
+ * requests can never take the same stripes in opposite orders.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.booking.lock.provider", havingValue = "local")
+public class LocalSeatLockProvider implements SeatLockProvider {
+    private final ReentrantLock[] stripes;
+
+    public LocalSeatLockProvider(@Value("${app.booking.lock.local.stripes:1024}") int stripeCount) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public SeatLockSession openSession(Duration maxWait) {
+        return new LocalSeatLockSession(new WaitBudget(maxWait));
+    }
+
+    int stripeIndex(Long showId, String seatNumber) {
+        int hash = Long.hashCode(showId * 0x9E3779B97F4A7C15L) ^ seatNumber.hashCode() * 0x9E3779B9;
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private class LocalSeatLockSession implements SeatLockSession {
+        private final WaitBudget waitBudget;
+        private final List<ReentrantLock> acquiredLocks = new ArrayList<>();
+
+        LocalSeatLockSession(WaitBudget waitBudget) {
+            this.waitBudget = waitBudget;
+        }
+
+        @Override
+        public void lockAll(Long showId, Collection<String> seatNumbers) {
+            lockAll(Map.of(showId, seatNumbers));
+        }
+
+        @Override
+        public void lockAll(Map<Long, ? extends Collection<String>> seatsByShow) {
+            // Stripe index -> show -> seats behind it; sorted and deduplicated in one pass
+            Map<Integer, Map<Long, List<String>>> seatsByStripe = new TreeMap<>();
+            seatsByShow.forEach((showId, seatNumbers) -> seatNumbers.forEach(seat -> seatsByStripe
+                    .computeIfAbsent(stripeIndex(showId, seat), index -> new TreeMap<>())
+                    .computeIfAbsent(showId, id -> new ArrayList<>())
+                    .add(seat)));
+
+            for (Map.Entry<Integer, Map<Long, List<String>>> entry : seatsByStripe.entrySet()) {
+                ReentrantLock lock = stripes[entry.getKey()];
+                try {
+                    if (!lock.tryLock(waitBudget.remainingNanos(), TimeUnit.NANOSECONDS)) {
+                        throw contended(entry.getValue());
+                    }
+                    acquiredLocks.add(lock);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CustomExceptions.SeatLockedException("Seat lock interrupted");
+                }
+            }
+        }
+
+        // The seats behind the stripe that timed out; a stripe shared across shows reports the first
+        private CustomExceptions.SeatLockedException contended(Map<Long, List<String>> seatsByShow) {
+            Map.Entry<Long, List<String>> first = seatsByShow.entrySet().iterator().next();
+            return new CustomExceptions.SeatLockedException(
+                    "Seats are locked by another user: " + first.getValue(), first.getKey(), first.getValue());
+        }
+
+        @Override
+        public void close() {
+            for (int i = acquiredLocks.size() - 1; i >= 0; i--) {
+                acquiredLocks.get(i).unlock();
+            }
+            log.debug("Released {} seat lock stripes", acquiredLocks.size());
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.moviebooking.model.dto.request.MovieFilter;
 import com.moviebooking.model.dto.request.MovieRequest;
 import com.moviebooking.model.dto.response.MovieResponse;
 import com.moviebooking.model.dto.response.ReviewResponse;
+import com.moviebooking.model.dto.response.SliceResponse;
 import com.moviebooking.model.entity.Actor;
 import com.moviebooking.model.entity.Movie;
 import com.moviebooking.model.entity.Review;
@@ -18,14 +19,15 @@ import com.moviebooking.repository.UserRepository;
 import com.moviebooking.service.ImageService;
 import com.moviebooking.service.MovieService;
 import com.moviebooking.util.EntityDtoMapper;
+import com.moviebooking.util.PageCursor;
 import jakarta.persistence.criteria.Predicate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,6 +36,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -111,21 +114,40 @@ public class MovieServiceImpl implements MovieService {
     }
 
     @Override
-    @Cacheable(value = "movieReviews", key = "#movieId")
-    public Page<ReviewResponse> getReviews(Long movieId, Pageable pageable) {
+    // Only the default first slice is cached, so the movie id alone stays a valid key for eviction
+    @Cacheable(value = "movieReviews", key = "#movieId",
+            condition = "#cursor == null && #size == T(com.moviebooking.model.dto.response.SliceResponse).DEFAULT_SIZE")
+    public SliceResponse<ReviewResponse> getReviews(Long movieId, String cursor, int size) {
         if (!movieRepository.existsById(movieId)) {
             throw new CustomExceptions.UserNotFoundException("Movie not found with ID: " + movieId);
         }
 
-        Page<Review> reviews = reviewRepository.findByMovieIdOrderByCreatedAtDesc(movieId, pageable);
-        return reviews.map(this::toReviewResponse);
+        int limit = SliceResponse.clampSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest fetch = PageRequest.ofSize(limit + 1);
+        List<Review> reviews = after == null
+                ? reviewRepository.findByMovieIdNewestFirst(movieId, fetch)
+                : reviewRepository.findByMovieIdAfter(movieId, parseTimestamp(after.sortKey()), after.id(), fetch);
+        return SliceResponse.of(reviews, limit,
+                page -> page.stream().map(this::toReviewResponse).collect(Collectors.toList()),
+                review -> new PageCursor(review.getCreatedAt().toString(), review.getId()));
     }
 
     @Override
-    public Page<MovieResponse> searchMovies(MovieFilter filter, Pageable pageable) {
+    public SliceResponse<MovieResponse> searchMovies(MovieFilter filter, String cursor, int size) {
+        int limit = SliceResponse.clampSize(size);
+        PageCursor after = PageCursor.decode(cursor);
         Specification<Movie> spec = buildMovieSpecification(filter);
-        Page<Movie> movies = movieRepository.findAll(spec, pageable);
-        return movies.map(movie -> toResponse(movie, List.of()));
+        if (after != null) {
+            spec = spec.and(titleAfter(after));
+        }
+        List<Movie> movies = movieRepository.findBy(spec, query -> query
+                .sortBy(Sort.by("title", "id"))
+                .limit(limit + 1)
+                .all());
+        return SliceResponse.of(movies, limit,
+                page -> page.stream().map(movie -> toResponse(movie, List.of())).collect(Collectors.toList()),
+                movie -> new PageCursor(movie.getTitle(), movie.getId()));
     }
 
     @Override
@@ -305,6 +327,21 @@ public class MovieServiceImpl implements MovieService {
         };
     }
 
+    // Keyset condition for the (title, id) ordering of movie search
+    private Specification<Movie> titleAfter(PageCursor after) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("title"), after.sortKey()),
+                cb.and(cb.equal(root.get("title"), after.sortKey()), cb.greaterThan(root.get("id"), after.id())));
+    }
+
+    private LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new CustomExceptions.InvalidRequestException("Invalid page cursor");
+        }
+    }
+
     private Genre parseGenre(String genre) {
         try {
             return Genre.valueOf(genre.toUpperCase());
@@ -5,6 +5,7 @@ import com.moviebooking.model.dto.request.PaymentRequest;
 import com.moviebooking.model.dto.response.PaymentResponse;
 import com.moviebooking.model.entity.Booking;
 import com.moviebooking.model.entity.Payment;
+import com.moviebooking.model.enums.PaymentMethod;
 import com.moviebooking.model.enums.PaymentStatus;
 import com.moviebooking.repository.BookingRepository;
 import com.moviebooking.repository.PaymentRepository;
@@ -52,6 +53,20 @@ public class PaymentServiceImpl implements PaymentService {
         return mapper.toPaymentResponse(payment);
     }
 
+    @Override
+    public Payment preparePayment(Booking booking, PaymentMethod paymentMethod) {
+        Payment payment = Payment.builder()
+                                 .booking(booking)
+                                 .amount(booking.getTotalAmount())
+                                 .status(PaymentStatus.SUCCESS)
+                                 .paymentMethod(paymentMethod)
+                                 .transactionId("TXN-" + System.currentTimeMillis())
+                                 .paymentTime(LocalDateTime.now())
+                                 .build();
+        booking.setPayment(payment);
+        return payment;
+    }
+
     @Override
     @Transactional
     public void refundPayment(Long paymentId, Long userId) {
@@ -0,0 +1,105 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatLockProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Seat locks as Postgres transaction-scoped advisory locks on one bigint per seat: the show id
+ * in the high {@value #SHOW_BITS} bits and the seat ordinal in the low {@value #ORDINAL_BITS}.
+ * Show ids past the high bits are folded into them, which can only make two seats share a lock.
+ * All seats are tried in one statement and the locks disappear when the booking transaction ends.
+ */
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "app.booking.lock.provider", havingValue = "postgres")
+public class PostgresSeatLockProvider implements SeatLockProvider {
+    static final int ORDINAL_BITS = 20;
+    static final int SHOW_BITS = 63 - ORDINAL_BITS;
+
+    // Returns the keys whose lock is held by another transaction
+    private static final String TRY_LOCK_SQL = """
+            SELECT s.lock_key FROM unnest(CAST(? AS bigint[])) AS s(lock_key)
+            WHERE NOT pg_try_advisory_xact_lock(s.lock_key)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeatInventoryService seatInventoryService;
+
+    @Override
+    public SeatLockSession openSession(Duration maxWait) {
+        return new PostgresSeatLockSession(new WaitBudget(maxWait));
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return true;
+    }
+
+    static long lockKey(long showId, int ordinal) {
+        if (ordinal < 0 || ordinal >= 1 << ORDINAL_BITS) {
+            throw new IllegalArgumentException("Seat ordinal out of advisory key range: " + ordinal);
+        }
+        long showBits = (showId ^ (showId >>> SHOW_BITS)) & ((1L << SHOW_BITS) - 1);
+        return showBits << ORDINAL_BITS | ordinal;
+    }
+
+    private class PostgresSeatLockSession implements SeatLockSession {
+        private final WaitBudget waitBudget;
+
+        PostgresSeatLockSession(WaitBudget waitBudget) {
+            this.waitBudget = waitBudget;
+        }
+
+        @Override
+        public void lockAll(Long showId, Collection<String> seatNumbers) {
+            if (seatNumbers.isEmpty()) {
+                return;
+            }
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw new IllegalStateException("Advisory seat locks require an active transaction");
+            }
+            Map<Long, String> seatsByKey = new LinkedHashMap<>();
+            for (String seat : seatNumbers) {
+                seatsByKey.put(lockKey(showId, seatInventoryService.ordinalOf(showId, seat)), seat);
+            }
+            // Locks won by an attempt stay with the transaction, so retries only cover the conflicts
+            List<Long> conflicts = tryLock(seatsByKey.keySet());
+            while (!conflicts.isEmpty() && waitBudget.pause()) {
+                conflicts = tryLock(conflicts);
+            }
+            if (!conflicts.isEmpty()) {
+                List<String> lockedSeats = new ArrayList<>();
+                conflicts.forEach(key -> lockedSeats.add(seatsByKey.get(key)));
+                throw new CustomExceptions.SeatLockedException("Seats are locked by another user: " + lockedSeats,
+                        showId, lockedSeats);
+            }
+        }
+
+        private List<Long> tryLock(Collection<Long> keys) {
+            String keyArray = keys.stream()
+                    .sorted()
+                    .map(String::valueOf)
+                    .collect(Collectors.joining(",", "{", "}"));
+            return jdbcTemplate.queryForList(TRY_LOCK_SQL, Long.class, keyArray);
+        }
+
+        @Override
+        public void close() {
+            // Released by Postgres when the transaction commits or rolls back
+        }
+    }
+}
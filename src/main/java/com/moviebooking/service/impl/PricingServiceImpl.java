@@ -0,0 +1,179 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.entity.Show;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.repository.PromoCodeRepository;
+import com.moviebooking.repository.ShowRepository;
+import com.moviebooking.service.PricingService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.ShowOccupancyService;
+import com.moviebooking.util.DiscountRule;
+import com.moviebooking.util.PriceQuote;
+import com.moviebooking.util.PriceTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Price tables and compiled promo rules are cached per show and promo code. A quote resolves
+ * every seat's category once, in one pass over the show's layout, and prices it with an array
+ * lookup; the booking reuses those per-seat results. With dynamic pricing on, a scheduled pass scales the
+ * tables of tracked shows by occupancy and time to start and swaps them in as a whole; quotes
+ * never compute surcharges themselves.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class PricingServiceImpl implements PricingService {
+    private final ShowRepository showRepository;
+    private final PromoCodeRepository promoCodeRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final ShowOccupancyService showOccupancyService;
+
+    // Config properties
+    @Value("${app.pricing.cache-ttl-seconds:60}")
+    private long cacheTtlSeconds;
+
+    @Value("${app.pricing.category-multiplier.regular:1.0}")
+    private double regularMultiplier;
+
+    @Value("${app.pricing.category-multiplier.premium:1.5}")
+    private double premiumMultiplier;
+
+    @Value("${app.pricing.category-multiplier.vip:2.0}")
+    private double vipMultiplier;
+
+    @Value("${app.pricing.dynamic.enabled:false}")
+    private boolean dynamicEnabled;
+
+    @Value("${app.pricing.dynamic.occupancy-surge:0.5}")
+    private double occupancySurge;
+
+    @Value("${app.pricing.dynamic.time-surge:0.2}")
+    private double timeSurge;
+
+    @Value("${app.pricing.dynamic.time-window-hours:24}")
+    private long timeWindowHours;
+
+    @Value("${app.pricing.dynamic.max-factor:2.0}")
+    private double maxFactor;
+
+    private final Map<Long, PriceTable> priceTables = new ConcurrentHashMap<>();
+    private final Map<Long, DiscountRule> discountRules = new ConcurrentHashMap<>();
+    // Replaced wholesale by each recalculation, so readers never see a half-updated set
+    private volatile Map<Long, PriceTable> dynamicTables = Map.of();
+
+    @Override
+    public PriceQuote quote(Long showId, List<String> seatNumbers, SeatCategory requestedCategory, Long promoCodeId) {
+        PriceTable table = priceTableFor(showId);
+        SeatCategory fallback = requestedCategory != null ? requestedCategory : SeatCategory.REGULAR;
+        SeatCategory[] categories = seatInventoryService.categoriesOf(showId, seatNumbers);
+        long[] prices = new long[categories.length];
+        long subtotal = 0L;
+        for (int i = 0; i < categories.length; i++) {
+            if (categories[i] == null) {
+                categories[i] = fallback;
+            }
+            prices[i] = table.priceOf(categories[i]);
+            subtotal += prices[i];
+        }
+        DiscountRule rule = promoCodeId != null ? discountRuleFor(promoCodeId) : DiscountRule.NONE;
+        long discount = rule.discount(subtotal, System.currentTimeMillis());
+        return new PriceQuote(subtotal, discount, discount > 0 ? rule.getPromoCodeId() : null, categories, prices);
+    }
+
+    @Override
+    public void evict(Long showId) {
+        priceTables.remove(showId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.dynamic.recalc-millis:30000}")
+    public void recalculateDynamicPrices() {
+        if (!dynamicEnabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<Long, PriceTable> next = new HashMap<>();
+        for (Long showId : showOccupancyService.trackedShows()) {
+            try {
+                PriceTable base = basePriceTableFor(showId);
+                next.put(showId, base.scaled(surgeFactors(showId, base.getStartsAtMillis(), now)));
+            } catch (RuntimeException e) {
+                log.warn("Skipping dynamic prices for show {}: {}", showId, e.getMessage());
+            }
+        }
+        dynamicTables = Map.copyOf(next);
+    }
+
+    private double[] surgeFactors(Long showId, long startsAtMillis, long now) {
+        // 0 outside the window, rising to 1 at the show's start
+        double windowMillis = Math.max(1L, timeWindowHours * 3_600_000);
+        double urgency = Math.min(1.0, Math.max(0.0, 1.0 - (startsAtMillis - now) / windowMillis));
+        SeatCategory[] categories = SeatCategory.values();
+        double[] factors = new double[categories.length];
+        for (int i = 0; i < categories.length; i++) {
+            double occupancy = showOccupancyService.occupancy(showId, categories[i]);
+            factors[i] = Math.min(maxFactor, 1.0 + occupancySurge * occupancy + timeSurge * urgency);
+        }
+        return factors;
+    }
+
+    private PriceTable priceTableFor(Long showId) {
+        if (dynamicEnabled) {
+            PriceTable dynamic = dynamicTables.get(showId);
+            if (dynamic != null) {
+                return dynamic;
+            }
+        }
+        return basePriceTableFor(showId);
+    }
+
+    private PriceTable basePriceTableFor(Long showId) {
+        PriceTable table = priceTables.computeIfAbsent(showId, this::buildPriceTable);
+        if (isExpired(table.getBuiltAtMillis())) {
+            priceTables.remove(showId, table);
+            table = priceTables.computeIfAbsent(showId, this::buildPriceTable);
+        }
+        return table;
+    }
+
+    private DiscountRule discountRuleFor(Long promoCodeId) {
+        DiscountRule rule = discountRules.computeIfAbsent(promoCodeId, this::compileDiscountRule);
+        if (isExpired(rule.getBuiltAtMillis())) {
+            discountRules.remove(promoCodeId, rule);
+            rule = discountRules.computeIfAbsent(promoCodeId, this::compileDiscountRule);
+        }
+        return rule;
+    }
+
+    private PriceTable buildPriceTable(Long showId) {
+        Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new CustomExceptions.ShowNotFoundException("Show not found: " + showId));
+        double[] multipliers = new double[SeatCategory.values().length];
+        multipliers[SeatCategory.REGULAR.ordinal()] = regularMultiplier;
+        multipliers[SeatCategory.PREMIUM.ordinal()] = premiumMultiplier;
+        multipliers[SeatCategory.VIP.ordinal()] = vipMultiplier;
+        log.debug("Built price table for show {}", showId);
+        long startsAtMillis = show.getStartTime() != null
+                ? show.getStartTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : Long.MAX_VALUE;
+        return PriceTable.of(show.getPrice(), multipliers, startsAtMillis);
+    }
+
+    private DiscountRule compileDiscountRule(Long promoCodeId) {
+        return DiscountRule.compile(promoCodeRepository.findById(promoCodeId).orElse(null));
+    }
+
+    private boolean isExpired(long builtAtMillis) {
+        return System.currentTimeMillis() - builtAtMillis > cacheTtlSeconds * 1000;
+    }
+}
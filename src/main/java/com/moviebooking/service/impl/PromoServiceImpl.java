@@ -4,6 +4,8 @@ import com.moviebooking.model.entity.Booking;
 import com.moviebooking.model.entity.PromoCode;
 import com.moviebooking.repository.PromoCodeRepository;
 import com.moviebooking.service.PromoService;
+import com.moviebooking.util.DiscountRule;
+import com.moviebooking.util.PriceTable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -19,13 +21,7 @@ public class PromoServiceImpl implements PromoService {
         if (promoCode == null || !Boolean.TRUE.equals(promoCode.getIsActive())) {
             throw new IllegalArgumentException("Invalid or inactive promo code");
         }
-        // Prefer discountAmount if it's set, otherwise use discountPercentage
-        if (promoCode.getDiscountAmount() != null) {
-            return promoCode.getDiscountAmount();
-        } else if (promoCode.getDiscountPercentage() != null) {
-            return booking.getTotalAmount().multiply(promoCode.getDiscountPercentage()).divide(BigDecimal.valueOf(100));
-        }
-        return BigDecimal.ZERO;
+        return calculateDiscount(promoCode, booking);
     }
 
     @Override
@@ -35,14 +31,9 @@ public class PromoServiceImpl implements PromoService {
 
     @Override
     public BigDecimal calculateDiscount(PromoCode promoCode, Booking booking) {
-        if (promoCode == null || !Boolean.TRUE.equals(promoCode.getIsActive())) {
-            return BigDecimal.ZERO;
-        }
-        if (promoCode.getDiscountAmount() != null) {
-            return promoCode.getDiscountAmount();
-        } else if (promoCode.getDiscountPercentage() != null) {
-            return booking.getTotalAmount().multiply(promoCode.getDiscountPercentage()).divide(BigDecimal.valueOf(100));
-        }
-        return BigDecimal.ZERO;
+        // Same rule as quotes: a fixed amount wins over a percentage, capped at the total
+        long discount = DiscountRule.compile(promoCode)
+                .discount(PriceTable.toMinor(booking.getTotalAmount()), System.currentTimeMillis());
+        return PriceTable.toAmount(discount);
     }
 }
\ No newline at end of file
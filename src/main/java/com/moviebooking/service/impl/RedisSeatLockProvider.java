@@ -0,0 +1,119 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.service.SeatLockProvider;
+import com.moviebooking.util.SeatKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Cluster-wide seat locks: one Redis key per seat, all keys of a request taken in one script call.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "app.booking.lock.provider", havingValue = "redis", matchIfMissing = true)
+public class RedisSeatLockProvider implements SeatLockProvider {
+    // Returns the 1-based positions of keys owned by someone else; sets nothing unless all are free
+    private static final String ACQUIRE_SEAT_LOCKS_SCRIPT = """
+            local conflicts = {}
+            for i, key in ipairs(KEYS) do
+                local owner = redis.call('GET', key)
+                if owner and owner ~= ARGV[1] then
+                    table.insert(conflicts, i)
+                end
+            end
+            if #conflicts == 0 then
+                for _, key in ipairs(KEYS) do
+                    redis.call('SET', key, ARGV[1], 'PX', ARGV[2])
+                end
+            end
+            return conflicts
+            """;
+
+    private static final String RELEASE_SEAT_LOCKS_SCRIPT = """
+            local released = 0
+            for _, key in ipairs(KEYS) do
+                if redis.call('GET', key) == ARGV[1] then
+                    redis.call('DEL', key)
+                    released = released + 1
+                end
+            end
+            return released
+            """;
+
+    private final RedissonClient redissonClient;
+
+    // Config properties
+    // Only needs to outlive the write; keeps seats from staying locked long after a node dies mid-booking
+    @Value("${app.booking.lock.lease-seconds:30}")
+    private long leaseSeconds;
+
+    @Override
+    public SeatLockSession openSession(Duration maxWait) {
+        return new RedisSeatLockSession(new WaitBudget(maxWait));
+    }
+
+    private class RedisSeatLockSession implements SeatLockSession {
+        private final String owner = UUID.randomUUID().toString();
+        private final WaitBudget waitBudget;
+        private final List<Object> acquiredKeys = new ArrayList<>();
+
+        RedisSeatLockSession(WaitBudget waitBudget) {
+            this.waitBudget = waitBudget;
+        }
+
+        @Override
+        public void lockAll(Long showId, Collection<String> seatNumbers) {
+            if (seatNumbers.isEmpty()) {
+                return;
+            }
+            List<String> seats = new ArrayList<>(new LinkedHashSet<>(seatNumbers));
+            List<Object> keys = seats.stream()
+                    .map(seat -> (Object) SeatKeys.seatLock(showId, seat))
+                    .collect(Collectors.toList());
+            List<Long> conflicts = tryAcquire(keys);
+            while (!conflicts.isEmpty() && waitBudget.pause()) {
+                conflicts = tryAcquire(keys);
+            }
+            if (!conflicts.isEmpty()) {
+                List<String> lockedSeats = conflicts.stream()
+                        .map(index -> seats.get(index.intValue() - 1))
+                        .collect(Collectors.toList());
+                throw new CustomExceptions.SeatLockedException("Seats are locked by another user: " + lockedSeats,
+                        showId, lockedSeats);
+            }
+            acquiredKeys.addAll(keys);
+        }
+
+        private List<Long> tryAcquire(List<Object> keys) {
+            return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    ACQUIRE_SEAT_LOCKS_SCRIPT, RScript.ReturnType.MULTI, keys, owner,
+                    String.valueOf(leaseSeconds * 1000));
+        }
+
+        @Override
+        public void close() {
+            if (acquiredKeys.isEmpty()) {
+                return;
+            }
+            Long released = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    RELEASE_SEAT_LOCKS_SCRIPT, RScript.ReturnType.INTEGER, acquiredKeys, owner);
+            log.debug("Released {} seat locks", released);
+        }
+    }
+}
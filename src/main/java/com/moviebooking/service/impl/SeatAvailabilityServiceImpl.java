@@ -0,0 +1,183 @@
+package com.moviebooking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebooking.model.dto.response.SeatAvailabilityResponse;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.service.SeatAvailabilityService;
+import com.moviebooking.util.SeatKeys;
+import com.moviebooking.util.VersionedPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat availability versions live in Redis: a counter per show plus a capped list of changes,
+ * each entry "version|B or R|seat,seat". Payloads are serialized once per (version, since) on
+ * each node and shared by all readers until the version moves on. A change that cannot be appended
+ * still bumps the version and drops the log, so readers fall back to a snapshot instead of a stale 304.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SeatAvailabilityServiceImpl implements SeatAvailabilityService {
+    // KEYS[1] = version counter, KEYS[2] = change list; ARGV = B|R, seats, max entries
+    private static final String APPEND_SCRIPT = """
+            local version = redis.call('INCR', KEYS[1])
+            redis.call('RPUSH', KEYS[2], version .. '|' .. ARGV[1] .. '|' .. ARGV[2])
+            redis.call('LTRIM', KEYS[2], -tonumber(ARGV[3]), -1)
+            return version
+            """;
+
+    // Bumps the version without an entry and drops the log, so every older client gets a snapshot
+    private static final String RESET_SCRIPT = """
+            local version = redis.call('INCR', KEYS[1])
+            redis.call('DEL', KEYS[2])
+            return version
+            """;
+
+    // Snapshot entries are cached under this pseudo "since" version
+    private static final long SNAPSHOT = -1L;
+
+    private final RedissonClient redissonClient;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final ObjectMapper objectMapper;
+
+    // Config properties
+    @Value("${app.booking.availability.max-changes:1000}")
+    private int maxChanges;
+
+    private final Map<Long, VersionView> views = new ConcurrentHashMap<>();
+    // Shows whose change could not be recorded at all; their version is bumped on the next call
+    private final Set<Long> unrecorded = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public long recordChange(Long showId, boolean booked, Collection<String> seatNumbers) {
+        if (seatNumbers.isEmpty()) {
+            return 0L;
+        }
+        if (unrecorded.contains(showId) && resetChanges(showId) == 0L) {
+            return 0L;
+        }
+        try {
+            return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    APPEND_SCRIPT, RScript.ReturnType.INTEGER,
+                    List.of(SeatKeys.seatVersion(showId), SeatKeys.seatChanges(showId)),
+                    booked ? "B" : "R", String.join(",", seatNumbers), String.valueOf(maxChanges));
+        } catch (RuntimeException e) {
+            // Runs after commit, so the change is real: without a bump clients would keep their stale seats
+            log.warn("Failed to record seat change for show {}, resetting its change log", showId, e);
+            return resetChanges(showId);
+        }
+    }
+
+    // Returns the bumped version, or 0 when Redis is still failing and the show stays unrecorded
+    private long resetChanges(Long showId) {
+        views.remove(showId);
+        try {
+            long version = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    RESET_SCRIPT, RScript.ReturnType.INTEGER,
+                    List.of(SeatKeys.seatVersion(showId), SeatKeys.seatChanges(showId)));
+            unrecorded.remove(showId);
+            return version;
+        } catch (RuntimeException e) {
+            unrecorded.add(showId);
+            log.error("Failed to bump seat version for show {}, retrying on its next read", showId, e);
+            return 0L;
+        }
+    }
+
+    @Override
+    public Optional<VersionedPayload> getAvailability(Long showId, Long sinceVersion) {
+        if (unrecorded.contains(showId)) {
+            resetChanges(showId);
+        }
+        long current = currentVersion(showId);
+        if (sinceVersion != null && sinceVersion == current) {
+            return Optional.empty();
+        }
+
+        // Never step back to an older view when a slower reader saw an earlier version
+        VersionView view = views.compute(showId, (id, existing) ->
+                existing != null && existing.version >= current ? existing : new VersionView(current));
+        long version = view.version;
+        if (sinceVersion != null && sinceVersion == version) {
+            return Optional.empty();
+        }
+        long since = sinceVersion == null || sinceVersion > version ? SNAPSHOT : sinceVersion;
+        return Optional.of(view.payloads.computeIfAbsent(since, key -> buildPayload(showId, version, key)));
+    }
+
+    @Override
+    public long currentVersion(Long showId) {
+        String current = redissonClient.<String>getBucket(SeatKeys.seatVersion(showId), StringCodec.INSTANCE).get();
+        return current != null ? Long.parseLong(current) : 0L;
+    }
+
+    private VersionedPayload buildPayload(Long showId, long version, long since) {
+        SeatAvailabilityResponse response = since == SNAPSHOT ? null : buildDelta(showId, version, since);
+        if (response == null) {
+            // Read after the version, so the snapshot is at least as new as the version it carries
+            response = new SeatAvailabilityResponse(showId, version, true,
+                    bookingSeatRepository.findActiveSeatNumbersByShowId(showId), List.of());
+        }
+        try {
+            return new VersionedPayload(version, objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize seat availability for show " + showId, e);
+        }
+    }
+
+    // Null when the change log no longer reaches back to the client's version
+    private SeatAvailabilityResponse buildDelta(Long showId, long version, long since) {
+        List<String> entries = redissonClient.<String>getList(SeatKeys.seatChanges(showId), StringCodec.INSTANCE)
+                .readAll();
+        if (entries.isEmpty() || entryVersion(entries.get(0)) > since + 1) {
+            return null;
+        }
+        // Last change per seat wins, so the delta applies cleanly to any state at or after the client's version
+        Map<String, Boolean> changes = new LinkedHashMap<>();
+        for (String entry : entries) {
+            String[] parts = entry.split("\\|", 3);
+            long entryVersion = Long.parseLong(parts[0]);
+            if (entryVersion <= since || entryVersion > version) {
+                continue;
+            }
+            boolean booked = "B".equals(parts[1]);
+            for (String seat : parts[2].split(",")) {
+                changes.remove(seat);
+                changes.put(seat, booked);
+            }
+        }
+        List<String> bookedSeats = new ArrayList<>();
+        List<String> releasedSeats = new ArrayList<>();
+        changes.forEach((seat, booked) -> (booked ? bookedSeats : releasedSeats).add(seat));
+        return new SeatAvailabilityResponse(showId, version, false, bookedSeats, releasedSeats);
+    }
+
+    private long entryVersion(String entry) {
+        return Long.parseLong(entry.substring(0, entry.indexOf('|')));
+    }
+
+    private static final class VersionView {
+        private final long version;
+        private final Map<Long, VersionedPayload> payloads = new ConcurrentHashMap<>();
+
+        private VersionView(long version) {
+            this.version = version;
+        }
+    }
+}
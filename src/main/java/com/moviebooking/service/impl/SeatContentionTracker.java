@@ -0,0 +1,79 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Node-local signal of seats someone is buying right now: seats locked by a booking in progress
+ * on this node, and seats recently found locked by another node. Requests touching them fail
+ * straight away with a "being purchased" status instead of spending their lock-wait budget.
+ */
+@Component
+public class SeatContentionTracker {
+    // Marker for seats locked on this node; they stay contended until the booking lets go
+    private static final long IN_FLIGHT = Long.MAX_VALUE;
+
+    // Config properties
+    @Value("${app.booking.lock.contention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.lock.contention.linger-millis:1000}")
+    private long lingerMillis;
+
+    private final Map<SeatRef, Long> contendedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Throws SeatBeingPurchasedException when any of the seats is contended.
+     */
+    public void checkUncontended(Long showId, Collection<String> seatNumbers) {
+        if (!enabled || contendedUntil.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<String> contended = seatNumbers.stream()
+                .filter(seat -> contendedUntil.getOrDefault(new SeatRef(showId, seat), 0L) > now)
+                .collect(Collectors.toList());
+        if (!contended.isEmpty()) {
+            throw new CustomExceptions.SeatBeingPurchasedException(
+                    "Seats are being purchased by another user: " + contended);
+        }
+    }
+
+    public void purchaseStarted(Long showId, Collection<String> seatNumbers) {
+        if (enabled) {
+            seatNumbers.forEach(seat -> contendedUntil.put(new SeatRef(showId, seat), IN_FLIGHT));
+        }
+    }
+
+    public void purchaseEnded(Long showId, Collection<String> seatNumbers) {
+        seatNumbers.forEach(seat -> contendedUntil.remove(new SeatRef(showId, seat), IN_FLIGHT));
+    }
+
+    /**
+     * Marks seats another node holds locked; they count as contended for the linger time.
+     */
+    public void lockLost(Long showId, Collection<String> seatNumbers) {
+        if (!enabled) {
+            return;
+        }
+        long until = System.currentTimeMillis() + lingerMillis;
+        seatNumbers.forEach(seat -> contendedUntil.merge(new SeatRef(showId, seat), until, Math::max));
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.lock.contention.purge-millis:10000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        contendedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private record SeatRef(Long showId, String seatNumber) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.moviebooking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebooking.model.dto.response.SeatMapEvent;
+import com.moviebooking.model.enums.SeatEventType;
+import com.moviebooking.service.SeatEventService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Seat-map deltas travel between nodes over one Redis pub/sub topic; each node forwards them to
+ * its own SSE subscribers of the show. Sends run on virtual threads, one show at a time in
+ * publish order, so a slow client holds up only its own show and never the pub/sub listener.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SeatEventServiceImpl implements SeatEventService {
+    private static final String TOPIC = "seat-events";
+
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+
+    // Config properties
+    @Value("${app.booking.seat-events.timeout-minutes:30}")
+    private long emitterTimeoutMinutes;
+
+    // Entries are created and removed under compute, so a show's set goes away with its last emitter
+    private final Map<Long, ShowSubscribers> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private RTopic topic;
+    private int listenerId;
+
+    @PostConstruct
+    public void init() {
+        topic = redissonClient.getTopic(TOPIC, StringCodec.INSTANCE);
+        listenerId = topic.addListener(String.class, (channel, message) -> dispatch(message));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        topic.removeListener(listenerId);
+        sendExecutor.shutdown();
+        subscribers.values().forEach(show -> show.emitters.forEach(SseEmitter::complete));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long showId, Supplier<List<String>> bookedSeats) {
+        return subscribe(showId, new SseEmitter(emitterTimeoutMinutes * 60_000), bookedSeats);
+    }
+
+    SseEmitter subscribe(Long showId, SseEmitter emitter, Supplier<List<String>> bookedSeats) {
+        subscribers.compute(showId, (id, show) -> {
+            ShowSubscribers target = show != null ? show : new ShowSubscribers();
+            target.emitters.add(emitter);
+            return target;
+        });
+        Runnable unsubscribe = () -> unsubscribe(showId, emitter);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        if (!send(emitter, new SeatMapEvent(showId, SeatEventType.SNAPSHOT, bookedSeats.get(),
+                System.currentTimeMillis()))) {
+            unsubscribe(showId, emitter);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publish(Long showId, SeatEventType type, Collection<String> seatNumbers) {
+        if (seatNumbers.isEmpty()) {
+            return;
+        }
+        SeatMapEvent event = new SeatMapEvent(showId, type, List.copyOf(seatNumbers), System.currentTimeMillis());
+        try {
+            // Fire and forget: a lost delta is repaired by the client's next snapshot
+            topic.publishAsync(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize seat event for show {}", showId, e);
+        }
+    }
+
+    private void dispatch(String message) {
+        SeatMapEvent event;
+        try {
+            event = objectMapper.readValue(message, SeatMapEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed seat event: {}", message);
+            return;
+        }
+        ShowSubscribers show = subscribers.get(event.showId());
+        if (show != null) {
+            show.enqueue(() -> show.emitters.forEach(emitter -> {
+                if (!send(emitter, event)) {
+                    unsubscribe(event.showId(), emitter);
+                }
+            }), sendExecutor);
+        }
+    }
+
+    void unsubscribe(Long showId, SseEmitter emitter) {
+        subscribers.computeIfPresent(showId, (id, show) -> {
+            show.emitters.remove(emitter);
+            return show.emitters.isEmpty() ? null : show;
+        });
+    }
+
+    boolean isSubscribed(Long showId) {
+        return subscribers.containsKey(showId);
+    }
+
+    // False once the client has gone away
+    private boolean send(SseEmitter emitter, SeatMapEvent event) {
+        try {
+            emitter.send(SseEmitter.event().name(event.type().name()).data(event));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping seat-map subscriber of show {}: {}", event.showId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static final class ShowSubscribers {
+        private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+        // Tail of the show's send chain; each dispatch runs after the previous one
+        private CompletableFuture<Void> sends = CompletableFuture.completedFuture(null);
+
+        private synchronized void enqueue(Runnable dispatch, Executor executor) {
+            sends = sends.thenRunAsync(dispatch, executor).exceptionally(error -> {
+                log.warn("Failed to dispatch seat event: {}", error.getMessage());
+                return null;
+            });
+        }
+    }
+}
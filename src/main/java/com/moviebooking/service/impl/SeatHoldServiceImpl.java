@@ -0,0 +1,342 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.dto.response.SeatHoldResponse;
+import com.moviebooking.model.enums.SeatEventType;
+import com.moviebooking.service.SeatEventService;
+import com.moviebooking.service.SeatHoldService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatStateService;
+import com.moviebooking.util.SeatKeys;
+import com.moviebooking.util.TimingWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Seat holds live in one Redis hash per show: field = seat number, value = "owner|expiresAtMillis".
+ * Expired entries are treated as free and pruned lazily by the scripts. Each node also keeps one
+ * timer per show and owner it has placed holds for in a timing wheel, so holds are removed and
+ * announced as released when they lapse rather than whenever the next script happens to touch them.
+ * When seat state is shared, held seats are mirrored into the show's held bit-plane after each change.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SeatHoldServiceImpl implements SeatHoldService {
+    // KEYS[1] = hold hash, KEYS[1 + i] = lock key of seat i; ARGV = owner, now, ttl, seats...
+    // Returns the 1-based positions of conflicting seats; writes nothing unless all are free
+    private static final String HOLD_SCRIPT = """
+            local owner, now, ttl = ARGV[1], tonumber(ARGV[2]), tonumber(ARGV[3])
+            local conflicts = {}
+            for i = 1, #ARGV - 3 do
+                local current = redis.call('HGET', KEYS[1], ARGV[i + 3])
+                local holder, expiresAt
+                if current then
+                    holder, expiresAt = string.match(current, '^(.*)|(%d+)$')
+                end
+                if holder and holder ~= owner and tonumber(expiresAt) > now then
+                    table.insert(conflicts, i)
+                elseif redis.call('EXISTS', KEYS[i + 1]) == 1 then
+                    table.insert(conflicts, i)
+                end
+            end
+            if #conflicts == 0 then
+                local value = owner .. '|' .. (now + ttl)
+                for i = 1, #ARGV - 3 do
+                    redis.call('HSET', KEYS[1], ARGV[i + 3], value)
+                end
+                if redis.call('PTTL', KEYS[1]) < ttl then
+                    redis.call('PEXPIRE', KEYS[1], ttl)
+                end
+            end
+            return conflicts
+            """;
+
+    // KEYS[1] = hold hash; ARGV = owner, now, ttl, seats...; returns positions of extended seats
+    private static final String EXTEND_SCRIPT = """
+            local owner, now, ttl = ARGV[1], tonumber(ARGV[2]), tonumber(ARGV[3])
+            local extended = {}
+            local value = owner .. '|' .. (now + ttl)
+            for i = 1, #ARGV - 3 do
+                local current = redis.call('HGET', KEYS[1], ARGV[i + 3])
+                if current then
+                    local holder, expiresAt = string.match(current, '^(.*)|(%d+)$')
+                    if holder == owner and tonumber(expiresAt) > now then
+                        redis.call('HSET', KEYS[1], ARGV[i + 3], value)
+                        table.insert(extended, i)
+                    end
+                end
+            end
+            if #extended > 0 and redis.call('PTTL', KEYS[1]) < ttl then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return extended
+            """;
+
+    // KEYS[1] = hold hash; ARGV = owner, seats...; removes only the owner's entries and returns their positions
+    private static final String RELEASE_SCRIPT = """
+            local released = {}
+            for i = 2, #ARGV do
+                local current = redis.call('HGET', KEYS[1], ARGV[i])
+                if current and string.match(current, '^(.*)|%d+$') == ARGV[1] then
+                    redis.call('HDEL', KEYS[1], ARGV[i])
+                    table.insert(released, i - 1)
+                end
+            end
+            return released
+            """;
+
+    // KEYS[1] = hold hash; ARGV = now, owners...; removes the owners' lapsed holds
+    // Returns {released seats, next expiry per owner position (0 when the owner holds nothing more)}
+    private static final String EXPIRE_SCRIPT = """
+            local now = tonumber(ARGV[1])
+            local positions, nextExpiry, released = {}, {}, {}
+            for i = 2, #ARGV do
+                positions[ARGV[i]] = i - 1
+                nextExpiry[i - 1] = 0
+            end
+            local entries = redis.call('HGETALL', KEYS[1])
+            for i = 1, #entries, 2 do
+                local holder, expiresAt = string.match(entries[i + 1], '^(.*)|(%d+)$')
+                local position = holder and positions[holder]
+                if position then
+                    expiresAt = tonumber(expiresAt)
+                    if expiresAt <= now then
+                        redis.call('HDEL', KEYS[1], entries[i])
+                        table.insert(released, entries[i])
+                    elseif nextExpiry[position] == 0 or expiresAt < nextExpiry[position] then
+                        nextExpiry[position] = expiresAt
+                    end
+                end
+            end
+            return {released, nextExpiry}
+            """;
+
+    private final RedissonClient redissonClient;
+    private final SeatEventService seatEventService;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatStateService seatStateService;
+
+    // Config properties
+    @Value("${app.booking.hold.ttl-seconds:300}")
+    private long holdTtlSeconds;
+
+    @Value("${app.booking.hold.expiry-tick-millis:100}")
+    private long expiryTickMillis;
+
+    private TimingWheel<HoldTimer> holdTimers;
+    private final Map<HoldTimer, Long> timerHandles = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initHoldTimers() {
+        holdTimers = new TimingWheel<>(expiryTickMillis, System.currentTimeMillis(), 1024);
+    }
+
+    @Override
+    public SeatHoldResponse hold(Long showId, Collection<String> seatNumbers, String owner) {
+        return hold(showId, seatNumbers, owner, holdTtlSeconds);
+    }
+
+    @Override
+    public SeatHoldResponse hold(Long showId, Collection<String> seatNumbers, String owner, long ttlSeconds) {
+        List<String> seats = distinct(seatNumbers);
+        long now = System.currentTimeMillis();
+        long ttlMillis = ttlSeconds * 1000;
+
+        List<Object> keys = new ArrayList<>();
+        keys.add(SeatKeys.seatHolds(showId));
+        seats.forEach(seat -> keys.add(SeatKeys.seatLock(showId, seat)));
+
+        List<Long> conflicts = eval(HOLD_SCRIPT, RScript.ReturnType.MULTI, keys,
+                scriptArgs(owner, now, ttlMillis, seats));
+        if (!conflicts.isEmpty()) {
+            throw new CustomExceptions.SeatLockedException("Seats are held by another user: " + pick(seats, conflicts));
+        }
+        armTimer(new HoldTimer(showId, owner), now + ttlMillis);
+        mirrorHeld(showId, seats, true, ttlMillis);
+        seatEventService.publish(showId, SeatEventType.HELD, seats);
+        log.info("Seats {} held for show {} by {}", seats, showId, owner);
+        return new SeatHoldResponse(showId, seats, toLocalDateTime(now + ttlMillis));
+    }
+
+    @Override
+    public List<String> extend(Long showId, Collection<String> seatNumbers, String owner) {
+        List<String> seats = distinct(seatNumbers);
+        long now = System.currentTimeMillis();
+        List<Long> extended = eval(EXTEND_SCRIPT, RScript.ReturnType.MULTI, List.of(SeatKeys.seatHolds(showId)),
+                scriptArgs(owner, now, holdTtlSeconds * 1000, seats));
+        List<String> extendedSeats = pick(seats, extended);
+        if (!extendedSeats.isEmpty()) {
+            armTimer(new HoldTimer(showId, owner), now + holdTtlSeconds * 1000);
+            mirrorHeld(showId, extendedSeats, true, holdTtlSeconds * 1000);
+        }
+        return extendedSeats;
+    }
+
+    @Override
+    public void release(Long showId, Collection<String> seatNumbers, String owner) {
+        List<String> seats = distinct(seatNumbers);
+        List<Object> args = new ArrayList<>();
+        args.add(owner);
+        args.addAll(seats);
+        List<Long> released = eval(RELEASE_SCRIPT, RScript.ReturnType.MULTI, List.of(SeatKeys.seatHolds(showId)),
+                args);
+        List<String> releasedSeats = pick(seats, released);
+        mirrorHeld(showId, releasedSeats, false, 0L);
+        seatEventService.publish(showId, SeatEventType.UNHELD, releasedSeats);
+        log.debug("Released {} seat holds for show {} by {}", released.size(), showId, owner);
+    }
+
+    @Override
+    public List<String> findHeldByOthers(Long showId, Collection<String> seatNumbers, String owner) {
+        Map<String, String> holds = redissonClient.<String, String>getMap(SeatKeys.seatHolds(showId),
+                StringCodec.INSTANCE).getAll(new LinkedHashSet<>(seatNumbers));
+        long now = System.currentTimeMillis();
+        return holds.entrySet().stream()
+                .filter(entry -> isLiveHoldOfOther(entry.getValue(), owner, now))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<String> getSeatsHeldByOthers(Long showId, String owner) {
+        Map<String, String> holds = redissonClient.<String, String>getMap(SeatKeys.seatHolds(showId),
+                StringCodec.INSTANCE).readAllMap();
+        long now = System.currentTimeMillis();
+        return holds.entrySet().stream()
+                .filter(entry -> isLiveHoldOfOther(entry.getValue(), owner, now))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public long getHoldTtlSeconds() {
+        return holdTtlSeconds;
+    }
+
+    /**
+     * Fires the hold timers that came due, one script call per show for all of its lapsed owners.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.hold.expiry-tick-millis:100}")
+    public void expireHolds() {
+        long now = System.currentTimeMillis();
+        List<HoldTimer> due = holdTimers.advance(now);
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> ownersByShow = new LinkedHashMap<>();
+        for (HoldTimer timer : due) {
+            timerHandles.remove(timer);
+            ownersByShow.computeIfAbsent(timer.showId(), id -> new ArrayList<>()).add(timer.owner());
+        }
+        ownersByShow.forEach((showId, owners) -> expireHolds(showId, owners, now));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expireHolds(Long showId, List<String> owners, long now) {
+        List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(now));
+        args.addAll(owners);
+        try {
+            List<Object> result = eval(EXPIRE_SCRIPT, RScript.ReturnType.MULTI, List.of(SeatKeys.seatHolds(showId)),
+                    args);
+            List<String> released = (List<String>) result.get(0);
+            List<Long> nextExpiry = (List<Long>) result.get(1);
+            for (int i = 0; i < owners.size(); i++) {
+                // Holds extended on another node outlive this timer; follow them
+                if (nextExpiry.get(i) > 0) {
+                    armTimer(new HoldTimer(showId, owners.get(i)), nextExpiry.get(i));
+                }
+            }
+            if (!released.isEmpty()) {
+                mirrorHeld(showId, released, false, 0L);
+                seatEventService.publish(showId, SeatEventType.UNHELD, released);
+                log.debug("Expired {} seat holds for show {}", released.size(), showId);
+            }
+        } catch (RuntimeException e) {
+            // The holds still lapse on their own; only the release event is lost
+            log.warn("Failed to expire seat holds for show {}: {}", showId, e.getMessage());
+        }
+    }
+
+    // One timer per show and owner, moved to the latest expiry
+    private void armTimer(HoldTimer timer, long expiresAtMillis) {
+        timerHandles.compute(timer, (key, handle) -> {
+            if (handle != null) {
+                holdTimers.cancel(handle);
+            }
+            return holdTimers.schedule(key, expiresAtMillis);
+        });
+    }
+
+    private void mirrorHeld(Long showId, List<String> seats, boolean held, long ttlMillis) {
+        if (!seatStateService.isEnabled() || seats.isEmpty()) {
+            return;
+        }
+        List<Integer> ordinals = seats.stream()
+                .map(seat -> seatInventoryService.ordinalOf(showId, seat))
+                .collect(Collectors.toList());
+        seatStateService.setHeld(showId, ordinals, held, ttlMillis);
+    }
+
+    private boolean isLiveHoldOfOther(String value, String owner, long now) {
+        int separator = value.lastIndexOf('|');
+        if (separator < 0) {
+            return false;
+        }
+        String holder = value.substring(0, separator);
+        long expiresAt = Long.parseLong(value.substring(separator + 1));
+        return !holder.equals(owner) && expiresAt > now;
+    }
+
+    private <T> T eval(String script, RScript.ReturnType returnType, List<Object> keys, List<Object> args) {
+        return redissonClient.getScript(StringCodec.INSTANCE)
+                .eval(RScript.Mode.READ_WRITE, script, returnType, keys, args.toArray());
+    }
+
+    private List<Object> scriptArgs(String owner, long now, long ttlMillis, List<String> seats) {
+        List<Object> args = new ArrayList<>();
+        args.add(owner);
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(ttlMillis));
+        args.addAll(seats);
+        return args;
+    }
+
+    private List<String> distinct(Collection<String> seatNumbers) {
+        return new ArrayList<>(new LinkedHashSet<>(seatNumbers));
+    }
+
+    private List<String> pick(List<String> seats, List<Long> positions) {
+        return positions.stream()
+                .map(position -> seats.get(position.intValue() - 1))
+                .collect(Collectors.toList());
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record HoldTimer(Long showId, String owner) {
+    }
+}
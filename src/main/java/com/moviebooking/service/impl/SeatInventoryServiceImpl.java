@@ -0,0 +1,255 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.entity.Show;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.repository.SeatRepository;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.model.enums.SeatEventType;
+import com.moviebooking.repository.ShowRepository;
+import com.moviebooking.service.SeatAvailabilityService;
+import com.moviebooking.service.SeatEventService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatStateService;
+import com.moviebooking.service.ShowOccupancyService;
+import com.moviebooking.util.SeatBitPlanes;
+import com.moviebooking.util.SeatLayout;
+import com.moviebooking.util.SeatOccupancyIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SeatInventoryServiceImpl implements SeatInventoryService {
+    private final ShowRepository showRepository;
+    private final SeatRepository seatRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final SeatEventService seatEventService;
+    private final SeatAvailabilityService seatAvailabilityService;
+    private final ShowOccupancyService showOccupancyService;
+    private final SeatStateService seatStateService;
+
+    // Config properties
+    @Value("${app.booking.seat-index.ttl-seconds:60}")
+    private long indexTtlSeconds;
+
+    private final Map<Long, SeatOccupancyIndex> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public List<String> findUnavailable(Long showId, Collection<String> seatNumbers) {
+        SeatOccupancyIndex index = indexFor(showId);
+        List<String> unknownSeats = seatNumbers.stream()
+                .filter(seat -> index.getLayout().ordinalOf(seat) < 0)
+                .collect(Collectors.toList());
+        if (!unknownSeats.isEmpty()) {
+            throw new CustomExceptions.InvalidRequestException("Unknown seats for show " + showId + ": " + unknownSeats);
+        }
+        SeatBitPlanes planes = sharedPlanes(showId, index);
+        if (planes == null) {
+            return index.findBooked(seatNumbers);
+        }
+        return seatNumbers.stream()
+                .filter(seat -> planes.isBooked(index.getLayout().ordinalOf(seat)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> getUnavailableSeats(Long showId) {
+        SeatOccupancyIndex index = indexFor(showId);
+        SeatBitPlanes planes = sharedPlanes(showId, index);
+        if (planes == null) {
+            return index.bookedSeats();
+        }
+        return planes.bookedOrdinals().stream()
+                .filter(ordinal -> ordinal < index.getLayout().capacity())
+                .map(index.getLayout()::labelOf)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findFlaggedHeld(Long showId, Collection<String> seatNumbers) {
+        if (!seatStateService.isEnabled()) {
+            return List.of();
+        }
+        SeatLayout layout = indexFor(showId).getLayout();
+        SeatBitPlanes planes = seatStateService.read(showId);
+        return seatNumbers.stream()
+                .filter(seat -> layout.ordinalOf(seat) >= 0 && planes.isHeld(layout.ordinalOf(seat)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int ordinalOf(Long showId, String seatNumber) {
+        int ordinal = indexFor(showId).getLayout().ordinalOf(seatNumber);
+        if (ordinal < 0) {
+            throw new CustomExceptions.InvalidRequestException("Unknown seat for show " + showId + ": " + seatNumber);
+        }
+        return ordinal;
+    }
+
+    @Override
+    public SeatCategory categoryOf(Long showId, String seatNumber) {
+        return indexFor(showId).getLayout().categoryOf(ordinalOf(showId, seatNumber));
+    }
+
+    @Override
+    public SeatCategory[] categoriesOf(Long showId, List<String> seatNumbers) {
+        SeatLayout layout = indexFor(showId).getLayout();
+        SeatCategory[] categories = new SeatCategory[seatNumbers.size()];
+        for (int i = 0; i < categories.length; i++) {
+            int ordinal = layout.ordinalOf(seatNumbers.get(i));
+            if (ordinal < 0) {
+                throw new CustomExceptions.InvalidRequestException(
+                        "Unknown seat for show " + showId + ": " + seatNumbers.get(i));
+            }
+            categories[i] = layout.categoryOf(ordinal);
+        }
+        return categories;
+    }
+
+    @Override
+    public List<String> findBestBlock(Long showId, int count, SeatCategory category, Set<String> excludedSeats) {
+        return indexFor(showId).findBestBlock(count, category, excludedSeats);
+    }
+
+    @Override
+    public long[] countPerCategory(Long showId, Collection<String> seatNumbers) {
+        return indexFor(showId).countPerCategory(seatNumbers);
+    }
+
+    @Override
+    public long[] capacityPerCategory(Long showId) {
+        return indexFor(showId).capacityPerCategory();
+    }
+
+    @Override
+    public long[] freePerCategory(Long showId) {
+        SeatOccupancyIndex index = indexFor(showId);
+        long[] free = index.capacityPerCategory();
+        long[] booked = index.bookedPerCategory();
+        for (int slot = 0; slot < free.length; slot++) {
+            free[slot] -= booked[slot];
+        }
+        return free;
+    }
+
+    @Override
+    public void markBooked(Long showId, Collection<String> seatNumbers) {
+        afterCommit(() -> {
+            SeatOccupancyIndex index = indexFor(showId);
+            index.markBooked(seatNumbers);
+            showOccupancyService.record(showId, index.countPerCategory(seatNumbers), 1);
+            seatAvailabilityService.recordChange(showId, true, seatNumbers);
+            // After the version bump, so a concurrent seed either sees the new version or is patched by this update
+            seatStateService.setBooked(showId, ordinals(index, seatNumbers), true);
+            seatEventService.publish(showId, SeatEventType.BOOKED, seatNumbers);
+        });
+    }
+
+    @Override
+    public void release(Long showId, Collection<String> seatNumbers) {
+        afterCommit(() -> {
+            SeatOccupancyIndex index = indexFor(showId);
+            index.release(seatNumbers);
+            showOccupancyService.record(showId, index.countPerCategory(seatNumbers), -1);
+            seatAvailabilityService.recordChange(showId, false, seatNumbers);
+            seatStateService.setBooked(showId, ordinals(index, seatNumbers), false);
+            seatEventService.publish(showId, SeatEventType.RELEASED, seatNumbers);
+        });
+    }
+
+    @Override
+    public void observeBooked(Long showId, Collection<String> seatNumbers) {
+        indexFor(showId).markBooked(seatNumbers);
+    }
+
+    @Override
+    public void evict(Long showId) {
+        indexes.remove(showId);
+        seatStateService.evict(showId);
+        showOccupancyService.untrack(showId);
+    }
+
+    // Null when seat state is not shared or Redis cannot be read; callers fall back to the local index
+    private SeatBitPlanes sharedPlanes(Long showId, SeatOccupancyIndex index) {
+        if (!seatStateService.isEnabled()) {
+            return null;
+        }
+        try {
+            SeatBitPlanes planes = seatStateService.read(showId);
+            if (planes.isSeeded()) {
+                return planes;
+            }
+            // Version first: a booking committed after it makes the seed back off instead of losing the seat
+            long version = seatAvailabilityService.currentVersion(showId);
+            List<Integer> booked = ordinals(index, bookingSeatRepository.findActiveSeatNumbersByShowId(showId));
+            byte[] bookedPlane = SeatBitPlanes.encode(booked, index.getLayout().capacity());
+            seatStateService.seedBooked(showId, bookedPlane, version);
+            return new SeatBitPlanes(bookedPlane, planes.held());
+        } catch (RuntimeException e) {
+            log.warn("Shared seat state unavailable for show {}: {}", showId, e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Integer> ordinals(SeatOccupancyIndex index, Collection<String> seatNumbers) {
+        return seatNumbers.stream()
+                .map(index.getLayout()::ordinalOf)
+                .filter(ordinal -> ordinal >= 0)
+                .collect(Collectors.toList());
+    }
+
+    private SeatOccupancyIndex indexFor(Long showId) {
+        SeatOccupancyIndex index = indexes.computeIfAbsent(showId, this::loadIndex);
+        if (System.currentTimeMillis() - index.getLoadedAtMillis() > indexTtlSeconds * 1000) {
+            // Refresh periodically so bookings made on other nodes become visible
+            indexes.remove(showId, index);
+            index = indexes.computeIfAbsent(showId, this::loadIndex);
+        }
+        return index;
+    }
+
+    private SeatOccupancyIndex loadIndex(Long showId) {
+        Show show = showRepository.findById(showId)
+                .orElseThrow(() -> new CustomExceptions.ShowNotFoundException("Show not found: " + showId));
+        SeatLayout layout = SeatLayout.of(show.getScreen() != null
+                ? seatRepository.findByScreenId(show.getScreen().getId())
+                : List.of());
+        List<String> bookedSeats = bookingSeatRepository.findActiveSeatNumbersByShowId(showId);
+        log.debug("Loaded seat index for show {}: {} booked of {} seats", showId, bookedSeats.size(),
+                layout.capacity());
+        SeatOccupancyIndex index = new SeatOccupancyIndex(layout, bookedSeats);
+        long startsAtMillis = show.getStartTime() != null
+                ? show.getStartTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : Long.MAX_VALUE;
+        showOccupancyService.register(showId, index.capacityPerCategory(), index::bookedPerCategory, startsAtMillis);
+        return index;
+    }
+
+    // Apply index updates only once the surrounding booking transaction has committed
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.service.SeatStateService;
+import com.moviebooking.util.SeatBitPlanes;
+import com.moviebooking.util.SeatKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat bit-planes are plain Redis strings driven with SETBIT, a few hundred bytes per show. The
+ * booked plane is seeded from the database and only ever updated in place afterwards, so a node
+ * never creates a partial plane; it expires after the reseed time to wash out lost updates.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class SeatStateServiceImpl implements SeatStateService {
+    // KEYS[1] = booked plane, KEYS[2] = held plane; returns {seeded 1/0, booked, held}
+    private static final String READ_SCRIPT = """
+            local booked = redis.call('GET', KEYS[1])
+            local held = redis.call('GET', KEYS[2])
+            return {booked and 1 or 0, booked or '', held or ''}
+            """;
+
+    // KEYS[1] = booked plane, KEYS[2] = seat version; ARGV = plane, version seen before the database read, ttl
+    private static final String SEED_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            if tonumber(redis.call('GET', KEYS[2]) or '0') ~= tonumber(ARGV[2]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            return 1
+            """;
+
+    // KEYS[1] = plane; ARGV = bit, ttl (0 keeps the current one), only-if-exists, ordinals...
+    private static final String SET_BITS_SCRIPT = """
+            if ARGV[3] == '1' and redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            for i = 4, #ARGV do
+                redis.call('SETBIT', KEYS[1], ARGV[i], ARGV[1])
+            end
+            local ttl = tonumber(ARGV[2])
+            if ttl > 0 and redis.call('PTTL', KEYS[1]) < ttl then
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            return 1
+            """;
+
+    private final RedissonClient redissonClient;
+
+    // Config properties
+    @Value("${app.booking.seat-state.shared:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.seat-state.reseed-minutes:60}")
+    private long reseedMinutes;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public SeatBitPlanes read(Long showId) {
+        if (!enabled) {
+            return new SeatBitPlanes(null, null);
+        }
+        List<Object> result = redissonClient.getScript(ByteArrayCodec.INSTANCE).eval(RScript.Mode.READ_ONLY,
+                READ_SCRIPT, RScript.ReturnType.MULTI,
+                List.of(SeatKeys.bookedPlane(showId), SeatKeys.heldPlane(showId)));
+        boolean seeded = ((Long) result.get(0)) == 1L;
+        return new SeatBitPlanes(seeded ? (byte[]) result.get(1) : null, (byte[]) result.get(2));
+    }
+
+    @Override
+    public void seedBooked(Long showId, byte[] bookedPlane, long seenVersion) {
+        if (!enabled) {
+            return;
+        }
+        redissonClient.getScript(ByteArrayCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, SEED_SCRIPT,
+                RScript.ReturnType.INTEGER, List.of(SeatKeys.bookedPlane(showId), SeatKeys.seatVersion(showId)),
+                bookedPlane, bytes(seenVersion), bytes(TimeUnit.MINUTES.toMillis(reseedMinutes)));
+    }
+
+    @Override
+    public void setBooked(Long showId, Collection<Integer> ordinals, boolean booked) {
+        setBits(SeatKeys.bookedPlane(showId), ordinals, booked, 0L, true);
+    }
+
+    @Override
+    public void setHeld(Long showId, Collection<Integer> ordinals, boolean held, long ttlMillis) {
+        // Clearing never creates the plane; setting does and keeps it alive for the hold
+        setBits(SeatKeys.heldPlane(showId), ordinals, held, held ? ttlMillis : 0L, !held);
+    }
+
+    @Override
+    public void evict(Long showId) {
+        if (enabled) {
+            redissonClient.getKeys().delete(SeatKeys.bookedPlane(showId));
+        }
+    }
+
+    private void setBits(String key, Collection<Integer> ordinals, boolean value, long ttlMillis,
+            boolean onlyIfExists) {
+        if (!enabled || ordinals.isEmpty()) {
+            return;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(value ? "1" : "0");
+        args.add(String.valueOf(ttlMillis));
+        args.add(onlyIfExists ? "1" : "0");
+        ordinals.forEach(ordinal -> args.add(String.valueOf(ordinal)));
+        try {
+            redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, SET_BITS_SCRIPT,
+                    RScript.ReturnType.INTEGER, List.of(key), args.toArray());
+        } catch (RuntimeException e) {
+            // Runs after the authoritative write; the booked plane heals on reseed, held bits lapse with the plane
+            log.error("Failed to update seat plane {}", key, e);
+        }
+    }
+
+    private byte[] bytes(long value) {
+        return String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+    }
+}
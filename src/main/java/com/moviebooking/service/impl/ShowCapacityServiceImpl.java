@@ -0,0 +1,253 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.dto.response.ShowCapacityResponse;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.model.enums.ShowAvailability;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.ShowCapacityService;
+import com.moviebooking.util.SeatKeys;
+import com.moviebooking.util.SeatOccupancyIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remaining capacity lives in one Redis hash per show, field = category slot. A missing hash is
+ * seeded from the local seat index by the first script that needs it and expires after the reseed
+ * time, which bounds drift from reservations lost in a crash. Every script reply refreshes the
+ * node's mirror, so a show known to be full is rejected without a round trip.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ShowCapacityServiceImpl implements ShowCapacityService {
+    // KEYS[1] = capacity hash; ARGV = ttl, slot count n, n seeds, n seats to take
+    // Returns {1 when taken else 0, remaining per slot}; takes nothing unless every slot fits
+    private static final String RESERVE_SCRIPT = """
+            local ttl, n = tonumber(ARGV[1]), tonumber(ARGV[2])
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                for i = 1, n do
+                    redis.call('HSET', KEYS[1], tostring(i - 1), ARGV[2 + i])
+                end
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            end
+            local remaining, fits = {}, 1
+            for i = 1, n do
+                remaining[i] = tonumber(redis.call('HGET', KEYS[1], tostring(i - 1)) or '0')
+                if remaining[i] < tonumber(ARGV[2 + n + i]) then
+                    fits = 0
+                end
+            end
+            if fits == 1 then
+                for i = 1, n do
+                    local take = tonumber(ARGV[2 + n + i])
+                    if take > 0 then
+                        remaining[i] = redis.call('HINCRBY', KEYS[1], tostring(i - 1), -take)
+                    end
+                end
+            end
+            return {fits, remaining}
+            """;
+
+    // KEYS[1] = capacity hash; ARGV = seats to hand back per slot; a missing hash is left to the next seed
+    private static final String RESTORE_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return {}
+            end
+            local remaining = {}
+            for i = 1, #ARGV do
+                remaining[i] = redis.call('HINCRBY', KEYS[1], tostring(i - 1), ARGV[i])
+            end
+            return remaining
+            """;
+
+    private final RedissonClient redissonClient;
+    private final SeatInventoryService seatInventoryService;
+
+    // Config properties
+    @Value("${app.booking.capacity-gate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.booking.capacity-gate.reseed-minutes:10}")
+    private long reseedMinutes;
+
+    // How long the local mirror may answer on its own
+    @Value("${app.booking.capacity-gate.mirror-millis:500}")
+    private long mirrorMillis;
+
+    // Share of the seats left at which a show counts as filling fast
+    @Value("${app.booking.capacity-gate.filling-fast-ratio:0.2}")
+    private double fillingFastRatio;
+
+    private final Map<Long, Mirror> mirrors = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean reserve(Long showId, Collection<String> seatNumbers) {
+        if (!enabled || seatNumbers.isEmpty()) {
+            return false;
+        }
+        long[] needed = seatInventoryService.countPerCategory(showId, seatNumbers);
+        Mirror mirror = mirrors.get(showId);
+        if (mirror != null && mirror.isFresh(mirrorMillis) && !fits(mirror.remaining(), needed)) {
+            throw noCapacity(showId, mirror.remaining(), needed);
+        }
+
+        List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(reseedMinutes * 60_000));
+        args.add(String.valueOf(needed.length));
+        for (long free : seatInventoryService.freePerCategory(showId)) {
+            args.add(String.valueOf(Math.max(0L, free)));
+        }
+        for (long count : needed) {
+            args.add(String.valueOf(count));
+        }
+        List<Object> result;
+        try {
+            result = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, RESERVE_SCRIPT,
+                    RScript.ReturnType.MULTI, List.of(SeatKeys.capacity(showId)), args.toArray());
+        } catch (RuntimeException e) {
+            // The gate only filters; the seat checks behind it still decide
+            log.warn("Capacity gate unavailable for show {}: {}", showId, e.getMessage());
+            return false;
+        }
+        long[] remaining = toSlots(result.get(1));
+        mirrors.put(showId, new Mirror(remaining, System.currentTimeMillis()));
+        if ((Long) result.get(0) != 1L) {
+            throw noCapacity(showId, remaining, needed);
+        }
+        return true;
+    }
+
+    @Override
+    public void restore(Long showId, Collection<String> seatNumbers) {
+        if (!enabled || seatNumbers.isEmpty()) {
+            return;
+        }
+        long[] counts = seatInventoryService.countPerCategory(showId, seatNumbers);
+        Object[] args = new Object[counts.length];
+        for (int slot = 0; slot < counts.length; slot++) {
+            args[slot] = String.valueOf(counts[slot]);
+        }
+        try {
+            Object result = redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE,
+                    RESTORE_SCRIPT, RScript.ReturnType.MULTI, List.of(SeatKeys.capacity(showId)), args);
+            long[] remaining = toSlots(result);
+            if (remaining.length == counts.length) {
+                mirrors.put(showId, new Mirror(remaining, System.currentTimeMillis()));
+            } else {
+                mirrors.remove(showId);
+            }
+        } catch (RuntimeException e) {
+            // Lost seats come back with the next reseed
+            log.warn("Failed to restore capacity of show {}: {}", showId, e.getMessage());
+        }
+    }
+
+    @Override
+    public void seatsReleased(Long showId, Collection<String> seatNumbers) {
+        if (!enabled || seatNumbers.isEmpty()) {
+            return;
+        }
+        List<String> seats = List.copyOf(seatNumbers);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    restore(showId, seats);
+                }
+            });
+        } else {
+            restore(showId, seats);
+        }
+    }
+
+    @Override
+    public ShowCapacityResponse capacity(Long showId) {
+        long[] capacity = seatInventoryService.capacityPerCategory(showId);
+        Mirror mirror = mirrors.get(showId);
+        long[] remaining = enabled && mirror != null && mirror.isFresh(mirrorMillis)
+                ? mirror.remaining()
+                : readRemaining(showId);
+
+        long totalCapacity = 0;
+        long totalRemaining = 0;
+        Map<SeatCategory, Long> byCategory = new EnumMap<>(SeatCategory.class);
+        for (int slot = 0; slot < capacity.length; slot++) {
+            long left = Math.max(0L, Math.min(remaining[slot], capacity[slot]));
+            totalCapacity += capacity[slot];
+            totalRemaining += left;
+            if (slot != SeatOccupancyIndex.UNCATEGORIZED && capacity[slot] > 0) {
+                byCategory.put(SeatCategory.values()[slot], left);
+            }
+        }
+        ShowAvailability availability = totalRemaining == 0 ? ShowAvailability.SOLD_OUT
+                : totalRemaining <= totalCapacity * fillingFastRatio ? ShowAvailability.FILLING_FAST
+                : ShowAvailability.AVAILABLE;
+        return new ShowCapacityResponse(showId, availability, totalRemaining, byCategory);
+    }
+
+    // Shared counters when present, otherwise this node's seat index
+    private long[] readRemaining(Long showId) {
+        if (enabled) {
+            try {
+                Map<String, String> counters = redissonClient.<String, String>getMap(SeatKeys.capacity(showId),
+                        StringCodec.INSTANCE).readAllMap();
+                if (!counters.isEmpty()) {
+                    long[] remaining = new long[SeatOccupancyIndex.UNCATEGORIZED + 1];
+                    counters.forEach((slot, value) -> remaining[Integer.parseInt(slot)] = Long.parseLong(value));
+                    mirrors.put(showId, new Mirror(remaining, System.currentTimeMillis()));
+                    return remaining;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to read capacity of show {}: {}", showId, e.getMessage());
+            }
+        }
+        return seatInventoryService.freePerCategory(showId);
+    }
+
+    private boolean fits(long[] remaining, long[] needed) {
+        for (int slot = 0; slot < needed.length; slot++) {
+            if (needed[slot] > remaining[slot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CustomExceptions.SeatUnavailableException noCapacity(Long showId, long[] remaining, long[] needed) {
+        for (int slot = 0; slot < needed.length; slot++) {
+            if (needed[slot] > remaining[slot]) {
+                String category = slot == SeatOccupancyIndex.UNCATEGORIZED ? "" : SeatCategory.values()[slot] + " ";
+                return new CustomExceptions.SeatUnavailableException(remaining[slot] <= 0
+                        ? "Show " + showId + " is sold out of " + category + "seats"
+                        : "Only " + remaining[slot] + " " + category + "seats left for show " + showId);
+            }
+        }
+        return new CustomExceptions.SeatUnavailableException("Not enough seats left for show " + showId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long[] toSlots(Object reply) {
+        return ((List<Long>) reply).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private record Mirror(long[] remaining, long atMillis) {
+        boolean isFresh(long maxAgeMillis) {
+            return System.currentTimeMillis() - atMillis <= maxAgeMillis;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single-writer mailboxes for hot shows. Once a show's booking rate crosses the threshold, its
+ * bookings run one at a time on a dedicated virtual thread against the in-memory seat index
+ * instead of contending on seat locks. Commands arriving within the batch window are handed over
+ * together so they can be committed as a group. The mode ends after the show has been quiet for the cooldown.
+ */
+@Slf4j
+@Component
+public class ShowMailboxDispatcher {
+    // Config properties
+    @Value("${app.booking.hot-show.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.hot-show.requests-per-second:50}")
+    private int hotRequestsPerSecond;
+
+    @Value("${app.booking.hot-show.cooldown-seconds:60}")
+    private long cooldownSeconds;
+
+    @Value("${app.booking.hot-show.mailbox-capacity:1000}")
+    private int mailboxCapacity;
+
+    @Value("${app.booking.hot-show.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.booking.hot-show.batch-window-millis:3}")
+    private long batchWindowMillis;
+
+    private final Map<Long, ShowTraffic> traffic = new ConcurrentHashMap<>();
+    private final Map<Long, ThreadPoolExecutor> mailboxes = new ConcurrentHashMap<>();
+    private final Map<Long, BlockingQueue<Object>> pendingCommands = new ConcurrentHashMap<>();
+
+    /**
+     * Records a booking attempt for the show and tells whether it must go through the show's mailbox.
+     */
+    public boolean isSerialized(Long showId) {
+        if (!enabled) {
+            return false;
+        }
+        boolean hot = traffic.computeIfAbsent(showId, id -> new ShowTraffic())
+                .record(System.currentTimeMillis(), hotRequestsPerSecond, TimeUnit.SECONDS.toMillis(cooldownSeconds));
+        if (!hot && mailboxes.containsKey(showId)) {
+            retireIfIdle(showId);
+        }
+        return hot;
+    }
+
+    /**
+     * Adds the command to the show's next batch. The handler runs on the show's writer thread and must
+     * complete every command it is given, including on failure.
+     */
+    public <C> void enqueue(Long showId, C command, Consumer<List<C>> batchHandler) {
+        BlockingQueue<Object> queue = pendingCommands.computeIfAbsent(showId, id -> new LinkedBlockingQueue<>());
+        queue.add(command);
+        try {
+            // Enqueue under the map entry so a mailbox is never retired while a task is being handed to it
+            mailboxes.compute(showId, (id, mailbox) -> {
+                ThreadPoolExecutor target = mailbox != null ? mailbox : newMailbox(id);
+                target.execute(() -> drain(queue, batchHandler));
+                return target;
+            });
+        } catch (RejectedExecutionException e) {
+            queue.remove(command);
+            throw new CustomExceptions.TooManyRequestsException("Too many pending bookings for show " + showId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        mailboxes.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    private ThreadPoolExecutor newMailbox(Long showId) {
+        log.info("Show {} is hot, serializing its bookings", showId);
+        ThreadPoolExecutor mailbox = new ThreadPoolExecutor(1, 1, cooldownSeconds, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(mailboxCapacity),
+                Thread.ofVirtual().name("show-mailbox-" + showId + "-", 0).factory());
+        // The writer thread goes away while the show is quiet
+        mailbox.allowCoreThreadTimeOut(true);
+        return mailbox;
+    }
+
+    // Every command schedules one drain; the first one to run takes the whole batch and later ones find less or nothing
+    @SuppressWarnings("unchecked")
+    private <C> void drain(BlockingQueue<Object> queue, Consumer<List<C>> batchHandler) {
+        if (queue.isEmpty()) {
+            return;
+        }
+        if (queue.size() < batchSize && batchWindowMillis > 0) {
+            // Give concurrent requests a moment to join the batch
+            try {
+                Thread.sleep(batchWindowMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<Object> batch = new ArrayList<>(Math.min(queue.size(), batchSize));
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            batchHandler.accept((List<C>) batch);
+        }
+    }
+
+    private void retireIfIdle(Long showId) {
+        mailboxes.computeIfPresent(showId, (id, mailbox) -> {
+            if (mailbox.getActiveCount() > 0 || !mailbox.getQueue().isEmpty()) {
+                return mailbox;
+            }
+            mailbox.shutdown();
+            pendingCommands.remove(id);
+            log.info("Show {} cooled down, back to locked bookings", id);
+            return null;
+        });
+    }
+
+    // Fixed one-second window per show; crossing the threshold keeps the show hot for the cooldown
+    private static final class ShowTraffic {
+        private long windowStart;
+        private int count;
+        private long hotUntil;
+
+        synchronized boolean record(long now, int threshold, long cooldownMillis) {
+            if (now - windowStart >= 1000) {
+                windowStart = now;
+                count = 0;
+            }
+            if (++count > threshold) {
+                hotUntil = now + cooldownMillis;
+            }
+            return now < hotUntil;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.service.ShowOccupancyService;
+import com.moviebooking.util.SeatKeys;
+import com.moviebooking.util.SeatOccupancyIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Local {@link LongAdder}s absorb bookings and cancellations without contention; a scheduled
+ * reconcile pushes their deltas into a Redis hash per show and reads back the cluster-wide
+ * totals. The hash expires periodically and is then re-seeded from the seat index, which bounds
+ * any drift from deltas lost in a crash. Dynamic pricing is the only reader, so nothing is
+ * tracked while it is off; shows without local changes are only refreshed now and then, and
+ * shows drop out once they start.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class ShowOccupancyServiceImpl implements ShowOccupancyService {
+    // KEYS[1] = counter hash; ARGV = ttl, slot count n, n deltas, optionally n seeds
+    // Returns the totals per slot, or nothing when the hash is missing and no seeds were given
+    private static final String RECONCILE_SCRIPT = """
+            local ttl, n = tonumber(ARGV[1]), tonumber(ARGV[2])
+            local totals = {}
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                if #ARGV < 2 + 2 * n then
+                    return totals
+                end
+                for i = 1, n do
+                    redis.call('HSET', KEYS[1], tostring(i - 1), ARGV[2 + n + i])
+                    totals[i] = tonumber(ARGV[2 + n + i])
+                end
+                redis.call('PEXPIRE', KEYS[1], ttl)
+            else
+                for i = 1, n do
+                    totals[i] = redis.call('HINCRBY', KEYS[1], tostring(i - 1), ARGV[2 + i])
+                end
+            end
+            return totals
+            """;
+
+    private final RedissonClient redissonClient;
+
+    // Config properties
+    @Value("${app.pricing.dynamic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.booking.occupancy.reseed-minutes:60}")
+    private long reseedMinutes;
+
+    // Shows without local changes skip the round trip until their totals are this old
+    @Value("${app.booking.occupancy.refresh-millis:30000}")
+    private long refreshMillis;
+
+    private final Map<Long, ShowCounters> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public void register(Long showId, long[] capacity, Supplier<long[]> bookedCounts, long startsAtMillis) {
+        if (!enabled || startsAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        counters.compute(showId, (id, existing) -> {
+            ShowCounters updated = new ShowCounters(capacity, bookedCounts, startsAtMillis);
+            if (existing != null) {
+                // Keep what was counted locally but not reconciled yet
+                for (int slot = 0; slot < capacity.length; slot++) {
+                    updated.pending[slot].add(existing.pending[slot].sum());
+                }
+                updated.totals = existing.totals;
+                updated.refreshedAtMillis = existing.refreshedAtMillis;
+            } else {
+                updated.totals = bookedCounts.get();
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    public void untrack(Long showId) {
+        counters.remove(showId);
+    }
+
+    @Override
+    public void record(Long showId, long[] seatsPerCategory, int sign) {
+        ShowCounters show = counters.get(showId);
+        if (show == null) {
+            return;
+        }
+        for (int slot = 0; slot < seatsPerCategory.length; slot++) {
+            if (seatsPerCategory[slot] != 0) {
+                show.pending[slot].add(sign * seatsPerCategory[slot]);
+            }
+        }
+    }
+
+    @Override
+    public double occupancy(Long showId, SeatCategory category) {
+        ShowCounters show = counters.get(showId);
+        if (show == null) {
+            return 0.0;
+        }
+        long[] totals = show.totals;
+        int slot = category != null ? category.ordinal() : SeatOccupancyIndex.UNCATEGORIZED;
+        if (show.capacity[slot] > 0) {
+            return ratio(totals[slot] + show.pending[slot].sum(), show.capacity[slot]);
+        }
+        long booked = 0;
+        long capacity = 0;
+        for (int i = 0; i < totals.length; i++) {
+            booked += totals[i] + show.pending[i].sum();
+            capacity += show.capacity[i];
+        }
+        return ratio(booked, capacity);
+    }
+
+    @Override
+    public Set<Long> trackedShows() {
+        return counters.keySet();
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.occupancy.reconcile-millis:5000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        counters.forEach((showId, show) -> {
+            if (show.startsAtMillis <= now) {
+                // Started shows are no longer priced
+                counters.remove(showId, show);
+            } else {
+                reconcile(showId, show, now);
+            }
+        });
+    }
+
+    private void reconcile(Long showId, ShowCounters show, long now) {
+        int slots = show.capacity.length;
+        long[] deltas = new long[slots];
+        boolean changed = false;
+        for (int slot = 0; slot < slots; slot++) {
+            deltas[slot] = show.pending[slot].sumThenReset();
+            changed |= deltas[slot] != 0;
+        }
+        if (!changed && now - show.refreshedAtMillis < refreshMillis) {
+            return;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(String.valueOf(reseedMinutes * 60_000));
+        args.add(String.valueOf(slots));
+        for (long delta : deltas) {
+            args.add(String.valueOf(delta));
+        }
+        try {
+            List<Long> totals = eval(showId, args);
+            if (totals.isEmpty()) {
+                // The hash expired; only now is the index scanned for seeds
+                for (long seed : show.bookedCounts.get()) {
+                    args.add(String.valueOf(seed));
+                }
+                totals = eval(showId, args);
+            }
+            show.totals = totals.stream().mapToLong(Long::longValue).toArray();
+            show.refreshedAtMillis = now;
+        } catch (RuntimeException e) {
+            // Put the deltas back for the next round
+            for (int slot = 0; slot < slots; slot++) {
+                show.pending[slot].add(deltas[slot]);
+            }
+            log.warn("Failed to reconcile occupancy of show {}: {}", showId, e.getMessage());
+        }
+    }
+
+    private List<Long> eval(Long showId, List<Object> args) {
+        return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, RECONCILE_SCRIPT,
+                RScript.ReturnType.MULTI, List.of(SeatKeys.occupancy(showId)), args.toArray());
+    }
+
+    private double ratio(long booked, long capacity) {
+        return capacity > 0 ? Math.min(1.0, Math.max(0.0, (double) booked / capacity)) : 0.0;
+    }
+
+    private static final class ShowCounters {
+        private final long[] capacity;
+        private final Supplier<long[]> bookedCounts;
+        private final long startsAtMillis;
+        private final LongAdder[] pending;
+        // Cluster-wide totals as of the last reconcile, replaced as a whole
+        private volatile long[] totals;
+        private volatile long refreshedAtMillis;
+
+        private ShowCounters(long[] capacity, Supplier<long[]> bookedCounts, long startsAtMillis) {
+            this.capacity = capacity;
+            this.bookedCounts = bookedCounts;
+            this.startsAtMillis = startsAtMillis;
+            this.pending = new LongAdder[capacity.length];
+            for (int slot = 0; slot < capacity.length; slot++) {
+                pending[slot] = new LongAdder();
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.dto.response.WaitingRoomResponse;
+import com.moviebooking.service.WaitingRoomService;
+import com.moviebooking.util.SeatKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FIFO waiting room per show. Redis keeps one hash per open room with the last queue number,
+ * the admission cursor and the time it was last advanced; the cursor moves forward at the
+ * admission rate but never past the last queued user. Tickets and admission tokens are
+ * HMAC-signed, so checking them needs no Redis or database round trip.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class WaitingRoomServiceImpl implements WaitingRoomService {
+    // KEYS[1] = room hash; ARGV = now; returns 0 if the room exists already
+    private static final String OPEN_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'seq', '0', 'cursor', '0', 'tick', ARGV[1])
+            return 1
+            """;
+
+    // KEYS[1] = room hash; ARGV = user field; returns the user's queue number, 0 if the room is closed
+    private static final String JOIN_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            local existing = redis.call('HGET', KEYS[1], ARGV[1])
+            if existing then
+                return tonumber(existing)
+            end
+            local seq = redis.call('HINCRBY', KEYS[1], 'seq', 1)
+            redis.call('HSET', KEYS[1], ARGV[1], seq)
+            return seq
+            """;
+
+    // KEYS[1] = room hash; ARGV = now, admissions per second; returns {seq, cursor} or {} if closed
+    private static final String ADVANCE_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return {}
+            end
+            local now, rate = tonumber(ARGV[1]), tonumber(ARGV[2])
+            local seq = tonumber(redis.call('HGET', KEYS[1], 'seq'))
+            local cursor = tonumber(redis.call('HGET', KEYS[1], 'cursor'))
+            local tick = tonumber(redis.call('HGET', KEYS[1], 'tick'))
+            if now > tick then
+                cursor = math.min(seq, cursor + (now - tick) * rate / 1000)
+                redis.call('HSET', KEYS[1], 'cursor', tostring(cursor), 'tick', ARGV[1])
+            end
+            return {tostring(seq), tostring(cursor)}
+            """;
+
+    private static final String TICKET = "T";
+    private static final String ADMISSION = "A";
+
+    private final RedissonClient redissonClient;
+
+    // Config properties
+    @Value("${app.booking.waiting-room.admissions-per-second:20}")
+    private double admissionsPerSecond;
+
+    @Value("${app.booking.waiting-room.admission-ttl-seconds:600}")
+    private long admissionTtlSeconds;
+
+    @Value("${app.booking.waiting-room.refresh-millis:1000}")
+    private long refreshMillis;
+
+    @Value("${app.booking.waiting-room.secret:${app.jwt.secret}}")
+    private String secret;
+
+    private final Map<Long, RoomState> rooms = new ConcurrentHashMap<>();
+
+    @Override
+    public void open(Long showId) {
+        Long opened = eval(OPEN_SCRIPT, RScript.ReturnType.INTEGER, showId,
+                String.valueOf(System.currentTimeMillis()));
+        rooms.remove(showId);
+        log.info("Waiting room for show {} {}", showId, opened == 1 ? "opened" : "already open");
+    }
+
+    @Override
+    public void close(Long showId) {
+        redissonClient.getKeys().delete(SeatKeys.waitingRoom(showId));
+        rooms.remove(showId);
+        log.info("Waiting room for show {} closed", showId);
+    }
+
+    @Override
+    public WaitingRoomResponse join(Long showId, String username) {
+        Long seq = eval(JOIN_SCRIPT, RScript.ReturnType.INTEGER, showId, "u:" + username);
+        if (seq == 0) {
+            return admitted(showId, username, null);
+        }
+        String ticket = sign(TICKET, showId, username, seq);
+        return respond(showId, username, ticket, seq);
+    }
+
+    @Override
+    public WaitingRoomResponse status(Long showId, String username, String ticket) {
+        long seq = verify(ticket, TICKET, showId, username);
+        if (seq < 0) {
+            throw new CustomExceptions.InvalidRequestException("Invalid waiting room ticket");
+        }
+        return respond(showId, username, ticket, seq);
+    }
+
+    @Override
+    public void checkAdmission(Long showId, String username, String admissionToken) {
+        if (!roomState(showId).active()) {
+            return;
+        }
+        long expiresAt = admissionToken != null ? verify(admissionToken, ADMISSION, showId, username) : -1;
+        if (expiresAt < System.currentTimeMillis()) {
+            throw new CustomExceptions.TooManyRequestsException(
+                    "Show " + showId + " has a waiting room; join the queue for an admission token");
+        }
+    }
+
+    private WaitingRoomResponse respond(Long showId, String username, String ticket, long seq) {
+        RoomState state = roomState(showId);
+        long ahead = (long) Math.ceil(seq - state.cursor());
+        if (!state.active() || ahead <= 0) {
+            return admitted(showId, username, ticket);
+        }
+        long etaSeconds = (long) Math.ceil(ahead / admissionsPerSecond);
+        return new WaitingRoomResponse(showId, ticket, ahead, etaSeconds, null, null);
+    }
+
+    private WaitingRoomResponse admitted(Long showId, String username, String ticket) {
+        long expiresAt = System.currentTimeMillis() + admissionTtlSeconds * 1000;
+        return new WaitingRoomResponse(showId, ticket, 0, 0, sign(ADMISSION, showId, username, expiresAt),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAt), ZoneId.systemDefault()));
+    }
+
+    // Cached per node; Redis is asked at most once per refresh interval and show
+    private RoomState roomState(Long showId) {
+        long now = System.currentTimeMillis();
+        RoomState state = rooms.get(showId);
+        if (state != null && now - state.fetchedAt() < refreshMillis) {
+            return state;
+        }
+        return rooms.compute(showId, (id, current) -> current != null && now - current.fetchedAt() < refreshMillis
+                ? current
+                : fetchState(id, now));
+    }
+
+    private RoomState fetchState(Long showId, long now) {
+        List<Object> result = eval(ADVANCE_SCRIPT, RScript.ReturnType.MULTI, showId, String.valueOf(now),
+                String.valueOf(admissionsPerSecond));
+        if (result.isEmpty()) {
+            return new RoomState(false, 0, now);
+        }
+        return new RoomState(true, Double.parseDouble(result.get(1).toString()), now);
+    }
+
+    // Token layout: base64url("type|showId|username|value") + "." + base64url(hmac)
+    private String sign(String type, Long showId, String username, long value) {
+        String payload = type + "|" + showId + "|" + username + "|" + value;
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(hmac(payload));
+    }
+
+    // Returns the signed value, or -1 if the token is forged or belongs to another show, user or type
+    private long verify(String token, String type, Long showId, String username) {
+        try {
+            int dot = token.indexOf('.');
+            if (dot < 0) {
+                return -1;
+            }
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            String payload = new String(decoder.decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(hmac(payload), decoder.decode(token.substring(dot + 1)))) {
+                return -1;
+            }
+            String prefix = type + "|" + showId + "|" + username + "|";
+            return payload.startsWith(prefix) ? Long.parseLong(payload.substring(prefix.length())) : -1;
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private byte[] hmac(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private <T> T eval(String script, RScript.ReturnType returnType, Long showId, Object... args) {
+        return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, script, returnType,
+                List.of(SeatKeys.waitingRoom(showId)), args);
+    }
+
+    private record RoomState(boolean active, double cursor, long fetchedAt) {
+    }
+}
@@ -0,0 +1,288 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.dto.request.WaitlistRequest;
+import com.moviebooking.model.dto.response.SeatHoldResponse;
+import com.moviebooking.model.dto.response.WaitlistResponse;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.repository.ShowRepository;
+import com.moviebooking.service.SeatHoldService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.WaitlistService;
+import com.moviebooking.util.SeatKeys;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Waitlists live in Redis, one sorted set per show and category scored by join time plus a hash
+ * with each user's seat count. Released seats are queued locally and matched in batches: the
+ * head of a line is popped only if the free seats cover its count, and gets them as a hold.
+ * Offers are kept per show so users can poll for them.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class WaitlistServiceImpl implements WaitlistService {
+    // KEYS[1] = waitlist, KEYS[2] = counts; ARGV = user, count, now, ttl; returns the 1-based position
+    private static final String JOIN_SCRIPT = """
+            redis.call('ZADD', KEYS[1], 'NX', ARGV[3], ARGV[1])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            return redis.call('ZRANK', KEYS[1], ARGV[1]) + 1
+            """;
+
+    // KEYS[1] = waitlist, KEYS[2] = counts; ARGV = free seats
+    // Pops the head only when its count fits; returns {user, score, count} or nothing
+    private static final String POP_IF_FITS_SCRIPT = """
+            local head = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            if #head == 0 then
+                return {}
+            end
+            local count = tonumber(redis.call('HGET', KEYS[2], head[1]) or '1')
+            if count > tonumber(ARGV[1]) then
+                return {}
+            end
+            redis.call('ZREM', KEYS[1], head[1])
+            redis.call('HDEL', KEYS[2], head[1])
+            return {head[1], head[2], tostring(count)}
+            """;
+
+    // KEYS[1] = waitlist, KEYS[2] = counts; ARGV = user, original score, count
+    private static final String REQUEUE_SCRIPT = """
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            redis.call('HSET', KEYS[2], ARGV[1], ARGV[3])
+            return 1
+            """;
+
+    private final RedissonClient redissonClient;
+    private final ShowRepository showRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatHoldService seatHoldService;
+
+    // Config properties
+    @Value("${app.booking.waitlist.offer-ttl-seconds:600}")
+    private long offerTtlSeconds;
+
+    @Value("${app.booking.waitlist.ttl-hours:48}")
+    private long waitlistTtlHours;
+
+    @Value("${app.booking.waitlist.batch-size:500}")
+    private int batchSize;
+
+    private final BlockingQueue<ReleasedSeats> releasedSeats = new LinkedBlockingQueue<>();
+
+    @Override
+    public WaitlistResponse join(Long showId, WaitlistRequest request, String username) {
+        if (!showRepository.existsById(showId)) {
+            throw new CustomExceptions.ShowNotFoundException("Show not found: " + showId);
+        }
+        SeatCategory category = request.seatCategory();
+        Long position = eval(JOIN_SCRIPT, RScript.ReturnType.INTEGER, showId, category, username,
+                String.valueOf(request.count()), String.valueOf(System.currentTimeMillis()),
+                String.valueOf(TimeUnit.HOURS.toMillis(waitlistTtlHours)));
+        log.info("User {} joined the {} waitlist of show {} at position {}", username, category, showId, position);
+        return new WaitlistResponse(showId, category, request.count(), position, List.of(), null);
+    }
+
+    @Override
+    public WaitlistResponse status(Long showId, SeatCategory seatCategory, String username) {
+        String offer = offers(showId).get(offerField(username, seatCategory));
+        if (offer != null) {
+            int separator = offer.lastIndexOf('|');
+            long expiresAt = Long.parseLong(offer.substring(separator + 1));
+            if (expiresAt > System.currentTimeMillis()) {
+                List<String> seats = Arrays.asList(offer.substring(0, separator).split(","));
+                return new WaitlistResponse(showId, seatCategory, seats.size(), 0, seats, toLocalDateTime(expiresAt));
+            }
+        }
+        Integer rank = redissonClient.<String>getScoredSortedSet(SeatKeys.waitlist(showId, seatCategory),
+                StringCodec.INSTANCE).rank(username);
+        if (rank == null) {
+            throw new CustomExceptions.InvalidRequestException("Not on the " + seatCategory + " waitlist of show " + showId);
+        }
+        String count = redissonClient.<String, String>getMap(SeatKeys.waitlistCounts(showId, seatCategory),
+                StringCodec.INSTANCE).get(username);
+        return new WaitlistResponse(showId, seatCategory, count != null ? Integer.parseInt(count) : 1, rank + 1,
+                List.of(), null);
+    }
+
+    @Override
+    public void leave(Long showId, SeatCategory seatCategory, String username) {
+        redissonClient.<String>getScoredSortedSet(SeatKeys.waitlist(showId, seatCategory), StringCodec.INSTANCE)
+                .remove(username);
+        redissonClient.<String, String>getMap(SeatKeys.waitlistCounts(showId, seatCategory), StringCodec.INSTANCE)
+                .fastRemove(username);
+    }
+
+    @Override
+    public void seatsReleased(Long showId, Collection<String> seatNumbers) {
+        if (seatNumbers.isEmpty()) {
+            return;
+        }
+        ReleasedSeats released = new ReleasedSeats(showId, List.copyOf(seatNumbers));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releasedSeats.add(released);
+                }
+            });
+        } else {
+            releasedSeats.add(released);
+        }
+    }
+
+    /**
+     * Drains released seats, merged per show, and offers them to the waitlists.
+     */
+    @Scheduled(fixedDelayString = "${app.booking.waitlist.match-millis:1000}")
+    public void matchWaitlists() {
+        List<ReleasedSeats> batch = new ArrayList<>();
+        releasedSeats.drainTo(batch, batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<String>> seatsByShow = new LinkedHashMap<>();
+        for (ReleasedSeats released : batch) {
+            seatsByShow.computeIfAbsent(released.showId(), id -> new LinkedHashSet<>()).addAll(released.seatNumbers());
+        }
+        seatsByShow.forEach((showId, seats) -> {
+            try {
+                offerSeats(showId, seats);
+            } catch (RuntimeException e) {
+                log.error("Failed to match waitlists of show {}", showId, e);
+            }
+        });
+    }
+
+    private void offerSeats(Long showId, Set<String> seats) {
+        // Seats rebooked since the cancellation are no longer on offer
+        List<String> free = new ArrayList<>(seats);
+        free.removeAll(seatInventoryService.findUnavailable(showId, seats));
+        free.sort(Comparator.comparingInt(seat -> seatInventoryService.ordinalOf(showId, seat)));
+
+        for (SeatCategory category : SeatCategory.values()) {
+            // Seats of screens without a seat plan fit every category
+            List<String> pool = free.stream()
+                    .filter(seat -> {
+                        SeatCategory configured = seatInventoryService.categoryOf(showId, seat);
+                        return configured == null || configured == category;
+                    })
+                    .collect(Collectors.toList());
+            while (!pool.isEmpty()) {
+                WaitlistEntry entry = popIfFits(showId, category, pool.size());
+                if (entry == null) {
+                    break;
+                }
+                List<String> offered = new ArrayList<>(pool.subList(0, entry.count()));
+                pool.removeAll(offered);
+                free.removeAll(offered);
+                SeatHoldResponse hold = null;
+                try {
+                    hold = seatHoldService.hold(showId, offered, entry.username(), offerTtlSeconds);
+                    recordOffer(showId, category, entry.username(), offered);
+                    log.info("Offered seats {} of show {} to waitlisted user {} until {}", offered, showId,
+                            entry.username(), hold.expiresAt());
+                } catch (RuntimeException e) {
+                    // The user is already off the line: whatever failed, they keep their place for the next release
+                    if (hold != null) {
+                        releaseQuietly(showId, offered, entry.username());
+                    }
+                    requeue(showId, category, entry);
+                    if (!(e instanceof CustomExceptions.SeatLockedException)) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    private WaitlistEntry popIfFits(Long showId, SeatCategory category, int freeSeats) {
+        List<Object> popped = eval(POP_IF_FITS_SCRIPT, RScript.ReturnType.MULTI, showId, category,
+                String.valueOf(freeSeats));
+        if (popped == null || popped.isEmpty()) {
+            return null;
+        }
+        return new WaitlistEntry((String) popped.get(0), (String) popped.get(1),
+                Integer.parseInt((String) popped.get(2)));
+    }
+
+    private void requeue(Long showId, SeatCategory category, WaitlistEntry entry) {
+        try {
+            eval(REQUEUE_SCRIPT, RScript.ReturnType.INTEGER, showId, category, entry.username(), entry.score(),
+                    String.valueOf(entry.count()));
+        } catch (RuntimeException e) {
+            log.error("Lost waitlist place of user {} for {} seats of show {} ({}, joined at {})", entry.username(),
+                    entry.count(), showId, category, entry.score(), e);
+        }
+    }
+
+    // An offer that was never recorded must not keep its seats held
+    private void releaseQuietly(Long showId, List<String> seats, String username) {
+        try {
+            seatHoldService.release(showId, seats, username);
+        } catch (RuntimeException e) {
+            log.warn("Failed to release unrecorded waitlist offer of seats {} of show {}: {}", seats, showId,
+                    e.getMessage());
+        }
+    }
+
+    private void recordOffer(Long showId, SeatCategory category, String username, List<String> seats) {
+        long expiresAt = System.currentTimeMillis() + offerTtlSeconds * 1000;
+        RMap<String, String> offers = offers(showId);
+        offers.fastPut(offerField(username, category), String.join(",", seats) + "|" + expiresAt);
+        offers.expire(Duration.ofSeconds(offerTtlSeconds));
+    }
+
+    private RMap<String, String> offers(Long showId) {
+        return redissonClient.getMap(SeatKeys.waitlistOffers(showId), StringCodec.INSTANCE);
+    }
+
+    private String offerField(String username, SeatCategory category) {
+        return username + ":" + category;
+    }
+
+    private <T> T eval(String script, RScript.ReturnType returnType, Long showId, SeatCategory category,
+            Object... args) {
+        return redissonClient.getScript(StringCodec.INSTANCE).eval(RScript.Mode.READ_WRITE, script, returnType,
+                List.of(SeatKeys.waitlist(showId, category), SeatKeys.waitlistCounts(showId, category)), args);
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private record ReleasedSeats(Long showId, List<String> seatNumbers) {
+    }
+
+    private record WaitlistEntry(String username, String score, int count) {
+    }
+}
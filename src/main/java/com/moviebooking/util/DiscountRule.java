@@ -0,0 +1,71 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.entity.PromoCode;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+
+/**
+ * A promo code compiled to integer arithmetic: a fixed amount wins over a percentage and the
+ * discount never exceeds the subtotal. The one implementation of promo discounts; {@code PromoServiceImpl}
+ * delegates here.
+ */
+public final class DiscountRule {
+    public static final DiscountRule NONE = new DiscountRule(null, 0L, 0L, Long.MAX_VALUE);
+
+    private final Long promoCodeId;
+    private final long fixedAmount;
+    // Hundredths of a percent, so 12.5% is 1250
+    private final long basisPoints;
+    private final long expiresAtMillis;
+    private final long builtAtMillis;
+
+    private DiscountRule(Long promoCodeId, long fixedAmount, long basisPoints, long expiresAtMillis) {
+        this.promoCodeId = promoCodeId;
+        this.fixedAmount = fixedAmount;
+        this.basisPoints = basisPoints;
+        this.expiresAtMillis = expiresAtMillis;
+        this.builtAtMillis = System.currentTimeMillis();
+    }
+
+    public static DiscountRule compile(PromoCode promoCode) {
+        if (promoCode == null || !Boolean.TRUE.equals(promoCode.getIsActive())) {
+            return NONE;
+        }
+        long expiresAt = promoCode.getExpiryDate() != null
+                ? promoCode.getExpiryDate().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : Long.MAX_VALUE;
+        if (promoCode.getDiscountAmount() != null) {
+            return new DiscountRule(promoCode.getId(), PriceTable.toMinor(promoCode.getDiscountAmount()), 0L,
+                    expiresAt);
+        }
+        if (promoCode.getDiscountPercentage() != null) {
+            long basisPoints = PriceTable.toMinor(promoCode.getDiscountPercentage().min(BigDecimal.valueOf(100)));
+            return new DiscountRule(promoCode.getId(), 0L, basisPoints, expiresAt);
+        }
+        return NONE;
+    }
+
+    /**
+     * @return false for inactive, expired or discount-less promo codes
+     */
+    public boolean appliesAt(long nowMillis) {
+        return promoCodeId != null && nowMillis < expiresAtMillis;
+    }
+
+    public long discount(long subtotal, long nowMillis) {
+        if (!appliesAt(nowMillis)) {
+            return 0L;
+        }
+        long discount = fixedAmount > 0 ? fixedAmount : subtotal * basisPoints / 10_000;
+        return Math.min(discount, subtotal);
+    }
+
+    public Long getPromoCodeId() {
+        return promoCodeId;
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+}
@@ -3,6 +3,8 @@ package com.moviebooking.util;
 import com.moviebooking.model.dto.response.*;
 import com.moviebooking.model.entity.*;
 import com.moviebooking.model.enums.*;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.BookingSeatRepository;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -291,6 +293,23 @@ public class EntityDtoMapper {
                                 paymentStatus);
         }
 
+        // Read path: built from projection rows, so no entity or lazy association is touched
+        public BookingResponse toBookingResponse(BookingRepository.BookingRow row,
+                        List<BookingSeatRepository.BookingSeatRow> seats) {
+                return toBookingResponse(
+                                row.getBookingId(),
+                                row.getUserId(),
+                                row.getShowId(),
+                                row.getMovieTitle(),
+                                row.getTheaterName(),
+                                row.getShowTime() != null ? row.getShowTime().toString() : null,
+                                seats.stream().map(BookingSeatRepository.BookingSeatRow::getSeatNumber).toList(),
+                                seats.isEmpty() ? null : seats.get(0).getSeatCategory(),
+                                row.getTotalAmount(),
+                                row.getStatus(),
+                                row.getPaymentStatus());
+        }
+
         public ActorDto toActorDto(Long id, String name, String profileImageUrl) {
                 return new ActorDto(id, name, profileImageUrl);
         }
@@ -0,0 +1,34 @@
+package com.moviebooking.util;
+
+import com.moviebooking.exception.CustomExceptions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position: the sort key and id of the last row a client has seen. Clients only pass the
+ * encoded form back, so the format can change without breaking them beyond their current scroll.
+ */
+public record PageCursor(String sortKey, long id) {
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null for a missing cursor, meaning the first page
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The sort key may itself contain the separator, the id never does
+            int separator = decoded.lastIndexOf('|');
+            return new PageCursor(decoded.substring(0, separator), Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new CustomExceptions.InvalidRequestException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.enums.SeatCategory;
+
+/**
+ * A priced seat selection in minor units. {@code promoCodeId} is set only when a promo took effect.
+ * {@code categories[i]} and {@code prices[i]} belong to the i-th quoted seat, so a booking can
+ * write its seats without resolving them again.
+ */
+public record PriceQuote(long subtotal, long discount, Long promoCodeId, SeatCategory[] categories, long[] prices) {
+    public long total() {
+        return subtotal - discount;
+    }
+}
@@ -0,0 +1,68 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.enums.SeatCategory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Per-show seat prices in minor units (cents), indexed by {@link SeatCategory} ordinal.
+ * Amounts only become {@link BigDecimal} again when they are written to an entity or response.
+ */
+public final class PriceTable {
+    private static final int SCALE = 2;
+
+    private final long[] prices;
+    private final long builtAtMillis;
+    private final long startsAtMillis;
+
+    private PriceTable(long[] prices, long startsAtMillis) {
+        this.prices = prices;
+        this.builtAtMillis = System.currentTimeMillis();
+        this.startsAtMillis = startsAtMillis;
+    }
+
+    /**
+     * @param multipliers price multiplier per category ordinal, applied to the show's base price
+     * @param startsAtMillis show start, kept for time-based surcharges
+     */
+    public static PriceTable of(BigDecimal basePrice, double[] multipliers, long startsAtMillis) {
+        long base = toMinor(basePrice);
+        long[] prices = new long[SeatCategory.values().length];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = Math.round(base * multipliers[i]);
+        }
+        return new PriceTable(prices, startsAtMillis);
+    }
+
+    /**
+     * @param factors factor per category ordinal, applied on top of this table's prices
+     */
+    public PriceTable scaled(double[] factors) {
+        long[] scaled = new long[prices.length];
+        for (int i = 0; i < prices.length; i++) {
+            scaled[i] = Math.round(prices[i] * factors[i]);
+        }
+        return new PriceTable(scaled, startsAtMillis);
+    }
+
+    public long priceOf(SeatCategory category) {
+        return prices[category.ordinal()];
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public long getStartsAtMillis() {
+        return startsAtMillis;
+    }
+
+    public static long toMinor(BigDecimal amount) {
+        return amount == null ? 0L : amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toAmount(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
@@ -0,0 +1,51 @@
+package com.moviebooking.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Booked and held seat bit-planes of a show as stored in Redis. Bit i is seat ordinal i, counted
+ * from the most significant bit of the first byte as SETBIT and GETBIT address them. A null booked
+ * plane means the show has not been seeded yet; a null held plane means nothing is held.
+ */
+public record SeatBitPlanes(byte[] booked, byte[] held) {
+    public boolean isSeeded() {
+        return booked != null;
+    }
+
+    public boolean isBooked(int ordinal) {
+        return isSet(booked, ordinal);
+    }
+
+    public boolean isHeld(int ordinal) {
+        return isSet(held, ordinal);
+    }
+
+    public List<Integer> bookedOrdinals() {
+        List<Integer> ordinals = new ArrayList<>();
+        if (booked != null) {
+            for (int index = 0; index < booked.length; index++) {
+                int bits = booked[index] & 0xFF;
+                while (bits != 0) {
+                    int bit = Integer.numberOfLeadingZeros(bits) - 24;
+                    ordinals.add((index << 3) + bit);
+                    bits &= ~(0x80 >>> bit);
+                }
+            }
+        }
+        return ordinals;
+    }
+
+    public static byte[] encode(Iterable<Integer> ordinals, int capacity) {
+        byte[] plane = new byte[(capacity + 7) >>> 3];
+        for (int ordinal : ordinals) {
+            plane[ordinal >>> 3] |= (byte) (0x80 >>> (ordinal & 7));
+        }
+        return plane;
+    }
+
+    private static boolean isSet(byte[] plane, int ordinal) {
+        int index = ordinal >>> 3;
+        return plane != null && index < plane.length && (plane[index] & (0x80 >>> (ordinal & 7))) != 0;
+    }
+}
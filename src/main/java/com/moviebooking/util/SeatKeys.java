@@ -0,0 +1,65 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.enums.SeatCategory;
+
+/**
+ * Redis key names for per-show seat state. The {showId} hash tag keeps every key of a
+ * show in one cluster slot so the seat scripts can touch them atomically.
+ */
+public final class SeatKeys {
+    private SeatKeys() {
+    }
+
+    public static String seatLock(Long showId, String seatNumber) {
+        return "lock:show:{" + showId + "}:seat:" + seatNumber;
+    }
+
+    public static String seatHolds(Long showId) {
+        return "hold:show:{" + showId + "}";
+    }
+
+    public static String waitingRoom(Long showId) {
+        return "waitroom:show:{" + showId + "}";
+    }
+
+    public static String waitlist(Long showId, SeatCategory category) {
+        return "waitlist:show:{" + showId + "}:" + category;
+    }
+
+    public static String waitlistCounts(Long showId, SeatCategory category) {
+        return "waitlist-counts:show:{" + showId + "}:" + category;
+    }
+
+    public static String waitlistOffers(Long showId) {
+        return "waitlist-offers:show:{" + showId + "}";
+    }
+
+    public static String occupancy(Long showId) {
+        return "occupancy:show:{" + showId + "}";
+    }
+
+    public static String capacity(Long showId) {
+        return "capacity:show:{" + showId + "}";
+    }
+
+    public static String seatVersion(Long showId) {
+        return "seat-version:show:{" + showId + "}";
+    }
+
+    public static String seatChanges(Long showId) {
+        return "seat-changes:show:{" + showId + "}";
+    }
+
+    // Quota counters are tagged by user instead, so one script can check all limits of a user
+    public static String userQuota(String username, String limit, long window) {
+        return "quota:{" + username + "}:" + limit + ":" + window;
+    }
+
+    public static String bookedPlane(Long showId) {
+        return "seats-booked:show:{" + showId + "}";
+    }
+
+    public static String heldPlane(Long showId) {
+        return "seats-held:show:{" + showId + "}";
+    }
+}
@@ -0,0 +1,200 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.entity.Seat;
+import com.moviebooking.model.enums.SeatCategory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps the seat labels of a screen (e.g. "A12") to dense ordinals so per-show seat
+ * state can be kept in bitsets. Screens with configured {@link Seat} rows get ordinals
+ * in row/number order; screens without a seat plan fall back to a fixed grid of
+ * {@value #GRID_ROWS} lettered rows by {@value #GRID_SEATS_PER_ROW} seats.
+ */
+public final class SeatLayout {
+    public static final int GRID_ROWS = 52;
+    public static final int GRID_SEATS_PER_ROW = 100;
+
+    private static final SeatLayout GRID = new SeatLayout(null, null, null, gridRowStarts(), gridJoins());
+
+    private final Map<String, Integer> ordinals;
+    private final String[] labels;
+    private final SeatCategory[] categories;
+    // rowStarts[r] is the first ordinal of row r, with a trailing entry for the capacity
+    private final int[] rowStarts;
+    // joinsNext[i] is true when seat i + 1 sits directly next to seat i in the same row
+    private final boolean[] joinsNext;
+
+    private SeatLayout(Map<String, Integer> ordinals, String[] labels, SeatCategory[] categories, int[] rowStarts,
+            boolean[] joinsNext) {
+        this.ordinals = ordinals;
+        this.labels = labels;
+        this.categories = categories;
+        this.rowStarts = rowStarts;
+        this.joinsNext = joinsNext;
+    }
+
+    public static SeatLayout of(Collection<Seat> seats) {
+        if (seats == null || seats.isEmpty()) {
+            return GRID;
+        }
+        List<Seat> sorted = new ArrayList<>(seats);
+        // Rows are ordered and grouped by their canonical spelling, like the labels
+        sorted.sort(Comparator.comparingInt((Seat seat) -> canonical(seat.getSeatRow()).length())
+                .thenComparing(seat -> canonical(seat.getSeatRow()))
+                .thenComparingInt(Seat::getSeatNumber));
+
+        Map<String, Integer> ordinals = new HashMap<>(sorted.size() * 2);
+        String[] labels = new String[sorted.size()];
+        SeatCategory[] categories = new SeatCategory[sorted.size()];
+        boolean[] joinsNext = new boolean[sorted.size()];
+        List<Integer> rowStarts = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            Seat seat = sorted.get(i);
+            labels[i] = label(seat.getSeatRow(), seat.getSeatNumber());
+            categories[i] = seat.getCategory();
+            ordinals.put(labels[i], i);
+            if (i == 0 || !canonical(sorted.get(i - 1).getSeatRow()).equals(canonical(seat.getSeatRow()))) {
+                rowStarts.add(i);
+            } else {
+                // A gap in the numbering is an aisle
+                joinsNext[i - 1] = sorted.get(i - 1).getSeatNumber() + 1 == seat.getSeatNumber();
+            }
+        }
+        rowStarts.add(sorted.size());
+        return new SeatLayout(ordinals, labels, categories,
+                rowStarts.stream().mapToInt(Integer::intValue).toArray(), joinsNext);
+    }
+
+    public static String label(String row, int number) {
+        return canonical(row) + number;
+    }
+
+    /**
+     * The one spelling of a seat label that locks, holds, the database and the index all use.
+     */
+    public static String canonical(String seatNumber) {
+        return seatNumber == null ? null : seatNumber.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static List<String> canonical(List<String> seatNumbers) {
+        return seatNumbers == null ? null : seatNumbers.stream().map(SeatLayout::canonical).toList();
+    }
+
+    public boolean isGrid() {
+        return ordinals == null;
+    }
+
+    public int capacity() {
+        return isGrid() ? GRID_ROWS * GRID_SEATS_PER_ROW : labels.length;
+    }
+
+    /**
+     * @return the ordinal of the seat, or -1 if the label is not part of this layout
+     */
+    public int ordinalOf(String seatNumber) {
+        if (seatNumber == null) {
+            return -1;
+        }
+        String normalized = canonical(seatNumber);
+        if (!isGrid()) {
+            Integer ordinal = ordinals.get(normalized);
+            return ordinal != null ? ordinal : -1;
+        }
+        return gridOrdinalOf(normalized);
+    }
+
+    public int rowCount() {
+        return rowStarts.length - 1;
+    }
+
+    public int rowStart(int row) {
+        return rowStarts[row];
+    }
+
+    /**
+     * @return the ordinal just past the last seat of the row
+     */
+    public int rowEnd(int row) {
+        return rowStarts[row + 1];
+    }
+
+    public boolean[] adjacency() {
+        return joinsNext;
+    }
+
+    public String labelOf(int ordinal) {
+        if (!isGrid()) {
+            return labels[ordinal];
+        }
+        return gridRowLabel(ordinal / GRID_SEATS_PER_ROW) + (ordinal % GRID_SEATS_PER_ROW + 1);
+    }
+
+    /**
+     * @return the configured category of the seat, or null when the screen has no seat plan
+     */
+    public SeatCategory categoryOf(int ordinal) {
+        return isGrid() ? null : categories[ordinal];
+    }
+
+    private static int[] gridRowStarts() {
+        int[] rowStarts = new int[GRID_ROWS + 1];
+        for (int row = 0; row <= GRID_ROWS; row++) {
+            rowStarts[row] = row * GRID_SEATS_PER_ROW;
+        }
+        return rowStarts;
+    }
+
+    private static boolean[] gridJoins() {
+        boolean[] joinsNext = new boolean[GRID_ROWS * GRID_SEATS_PER_ROW];
+        for (int i = 0; i < joinsNext.length; i++) {
+            joinsNext[i] = (i + 1) % GRID_SEATS_PER_ROW != 0;
+        }
+        return joinsNext;
+    }
+
+    private static int gridOrdinalOf(String label) {
+        int split = 0;
+        int row = 0;
+        while (split < label.length() && label.charAt(split) >= 'A' && label.charAt(split) <= 'Z') {
+            row = row * 26 + (label.charAt(split) - 'A' + 1);
+            if (row > GRID_ROWS) {
+                return -1;
+            }
+            split++;
+        }
+        // A leading zero would make "A01" an alias of "A1"; every seat has exactly one label
+        if (split == 0 || split == label.length() || label.length() - split > 3 || label.charAt(split) == '0') {
+            return -1;
+        }
+        int number = 0;
+        for (int i = split; i < label.length(); i++) {
+            char c = label.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        if (number < 1 || number > GRID_SEATS_PER_ROW) {
+            return -1;
+        }
+        return (row - 1) * GRID_SEATS_PER_ROW + (number - 1);
+    }
+
+    private static String gridRowLabel(int rowIndex) {
+        StringBuilder row = new StringBuilder();
+        int n = rowIndex + 1;
+        while (n > 0) {
+            n--;
+            row.insert(0, (char) ('A' + n % 26));
+            n /= 26;
+        }
+        return row.toString();
+    }
+}
@@ -0,0 +1,214 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.enums.SeatCategory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Booked-seat bitset for a single show, addressed by {@link SeatLayout} ordinals.
+ * Availability checks cost one bit test per requested seat. Free-run trees per seat
+ * category are built on first use and kept in step with the bitset.
+ */
+public class SeatOccupancyIndex {
+    // Per-category count arrays are indexed by SeatCategory ordinal, with this extra slot for seats without a category
+    public static final int UNCATEGORIZED = SeatCategory.values().length;
+
+    private final SeatLayout layout;
+    private final long[] booked;
+    private final long loadedAtMillis;
+    // Keyed by category; the null key covers screens without a seat plan
+    private final Map<SeatCategory, SeatRunTree> freeRuns = new HashMap<>();
+    private int[] rowPreference;
+
+    public SeatOccupancyIndex(SeatLayout layout, Collection<String> bookedSeats) {
+        this.layout = layout;
+        this.booked = new long[(layout.capacity() + 63) >>> 6];
+        this.loadedAtMillis = System.currentTimeMillis();
+        for (String seat : bookedSeats) {
+            int ordinal = layout.ordinalOf(seat);
+            if (ordinal >= 0) {
+                booked[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+    }
+
+    public SeatLayout getLayout() {
+        return layout;
+    }
+
+    public long getLoadedAtMillis() {
+        return loadedAtMillis;
+    }
+
+    /**
+     * @return the requested seats that are currently booked; labels outside the layout are ignored
+     */
+    public synchronized List<String> findBooked(Collection<String> seatNumbers) {
+        List<String> conflicts = new ArrayList<>();
+        for (String seat : seatNumbers) {
+            int ordinal = layout.ordinalOf(seat);
+            if (ordinal >= 0 && (booked[ordinal >>> 6] & (1L << ordinal)) != 0) {
+                conflicts.add(seat);
+            }
+        }
+        return conflicts;
+    }
+
+    public synchronized void markBooked(Collection<String> seatNumbers) {
+        for (String seat : seatNumbers) {
+            int ordinal = layout.ordinalOf(seat);
+            if (ordinal >= 0) {
+                booked[ordinal >>> 6] |= 1L << ordinal;
+                updateFreeRuns(ordinal);
+            }
+        }
+    }
+
+    public synchronized void release(Collection<String> seatNumbers) {
+        for (String seat : seatNumbers) {
+            int ordinal = layout.ordinalOf(seat);
+            if (ordinal >= 0) {
+                booked[ordinal >>> 6] &= ~(1L << ordinal);
+                updateFreeRuns(ordinal);
+            }
+        }
+    }
+
+    /**
+     * Picks the best block of adjacent free seats of the category: rows closest to two thirds
+     * back first, then the block closest to the middle of the row. Seats in {@code excluded}
+     * are treated as taken. Returns an empty list when no such block exists.
+     */
+    public synchronized List<String> findBestBlock(int count, SeatCategory category, Set<String> excluded) {
+        if (count < 1) {
+            return List.of();
+        }
+        SeatCategory key = layout.isGrid() ? null : category;
+        SeatRunTree tree = freeRuns.computeIfAbsent(key, this::buildFreeRuns);
+        if (rowPreference == null) {
+            double preferredRow = (layout.rowCount() - 1) * 2 / 3.0;
+            rowPreference = IntStream.range(0, layout.rowCount()).boxed()
+                    .sorted(Comparator.comparingDouble((Integer row) -> Math.abs(row - preferredRow))
+                            .thenComparing(Comparator.reverseOrder()))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        for (int row : rowPreference) {
+            if (tree.longestRun(layout.rowStart(row), layout.rowEnd(row)) < count) {
+                continue;
+            }
+            int start = bestStartInRow(row, count, key, excluded);
+            if (start >= 0) {
+                List<String> block = new ArrayList<>(count);
+                for (int ordinal = start; ordinal < start + count; ordinal++) {
+                    block.add(layout.labelOf(ordinal));
+                }
+                return block;
+            }
+        }
+        return List.of();
+    }
+
+    // Walks the row's runs; only rows the tree says can fit the block get here
+    private int bestStartInRow(int row, int count, SeatCategory category, Set<String> excluded) {
+        int rowStart = layout.rowStart(row);
+        int rowEnd = layout.rowEnd(row);
+        double target = (rowStart + rowEnd - 1) / 2.0 - (count - 1) / 2.0;
+        int bestStart = -1;
+        int runStart = -1;
+        for (int ordinal = rowStart; ordinal < rowEnd; ordinal++) {
+            boolean usable = isUsable(ordinal, category) && !excluded.contains(layout.labelOf(ordinal));
+            if (usable && runStart < 0) {
+                runStart = ordinal;
+            }
+            boolean runEnds = !usable || ordinal == rowEnd - 1 || !layout.adjacency()[ordinal];
+            if (runStart >= 0 && runEnds) {
+                int runEnd = usable ? ordinal + 1 : ordinal;
+                if (runEnd - runStart >= count) {
+                    int start = (int) Math.max(runStart, Math.min(runEnd - count, Math.round(target)));
+                    if (bestStart < 0 || Math.abs(start - target) < Math.abs(bestStart - target)) {
+                        bestStart = start;
+                    }
+                }
+                runStart = -1;
+            }
+        }
+        return bestStart;
+    }
+
+    private SeatRunTree buildFreeRuns(SeatCategory category) {
+        boolean[] usable = new boolean[layout.capacity()];
+        for (int ordinal = 0; ordinal < usable.length; ordinal++) {
+            usable[ordinal] = isUsable(ordinal, category);
+        }
+        return new SeatRunTree(usable.length, layout.adjacency(), usable);
+    }
+
+    private void updateFreeRuns(int ordinal) {
+        freeRuns.forEach((category, tree) -> tree.set(ordinal, isUsable(ordinal, category)));
+    }
+
+    private boolean isUsable(int ordinal, SeatCategory category) {
+        return (booked[ordinal >>> 6] & (1L << ordinal)) == 0
+                && (category == null || category == layout.categoryOf(ordinal));
+    }
+
+    public long[] capacityPerCategory() {
+        long[] capacity = new long[UNCATEGORIZED + 1];
+        for (int ordinal = 0; ordinal < layout.capacity(); ordinal++) {
+            capacity[slotOf(ordinal)]++;
+        }
+        return capacity;
+    }
+
+    public synchronized long[] bookedPerCategory() {
+        long[] counts = new long[UNCATEGORIZED + 1];
+        for (int word = 0; word < booked.length; word++) {
+            long bits = booked[word];
+            while (bits != 0) {
+                counts[slotOf((word << 6) + Long.numberOfTrailingZeros(bits))]++;
+                bits &= bits - 1;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return how many of the given seats fall in each category slot; labels outside the layout are ignored
+     */
+    public long[] countPerCategory(Collection<String> seatNumbers) {
+        long[] counts = new long[UNCATEGORIZED + 1];
+        for (String seat : seatNumbers) {
+            int ordinal = layout.ordinalOf(seat);
+            if (ordinal >= 0) {
+                counts[slotOf(ordinal)]++;
+            }
+        }
+        return counts;
+    }
+
+    private int slotOf(int ordinal) {
+        SeatCategory category = layout.categoryOf(ordinal);
+        return category != null ? category.ordinal() : UNCATEGORIZED;
+    }
+
+    public synchronized List<String> bookedSeats() {
+        List<String> seats = new ArrayList<>();
+        for (int word = 0; word < booked.length; word++) {
+            long bits = booked[word];
+            while (bits != 0) {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+                seats.add(layout.labelOf(ordinal));
+                bits &= bits - 1;
+            }
+        }
+        return seats;
+    }
+}
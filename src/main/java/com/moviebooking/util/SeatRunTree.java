@@ -0,0 +1,103 @@
+package com.moviebooking.util;
+
+/**
+ * Segment tree over seat ordinals that tracks runs of usable seats. Two neighbouring ordinals
+ * only form a run when the layout says they are physically adjacent, so runs never cross a
+ * row end or an aisle. Updates and range queries are O(log n).
+ */
+public class SeatRunTree {
+    private final int size;
+    private final boolean[] joinsNext;
+    private final int[] prefix;
+    private final int[] suffix;
+    private final int[] best;
+
+    public SeatRunTree(int size, boolean[] joinsNext, boolean[] usable) {
+        this.size = size;
+        this.joinsNext = joinsNext;
+        this.prefix = new int[4 * Math.max(size, 1)];
+        this.suffix = new int[prefix.length];
+        this.best = new int[prefix.length];
+        if (size > 0) {
+            build(1, 0, size - 1, usable);
+        }
+    }
+
+    public void set(int ordinal, boolean usable) {
+        update(1, 0, size - 1, ordinal, usable);
+    }
+
+    /**
+     * @return the longest run of usable seats inside [from, to)
+     */
+    public int longestRun(int from, int to) {
+        if (from >= to) {
+            return 0;
+        }
+        return query(1, 0, size - 1, from, to - 1)[2];
+    }
+
+    private void build(int node, int lo, int hi, boolean[] usable) {
+        if (lo == hi) {
+            setLeaf(node, usable[lo]);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        build(2 * node, lo, mid, usable);
+        build(2 * node + 1, mid + 1, hi, usable);
+        pull(node, lo, mid, hi);
+    }
+
+    private void update(int node, int lo, int hi, int ordinal, boolean usable) {
+        if (lo == hi) {
+            setLeaf(node, usable);
+            return;
+        }
+        int mid = (lo + hi) >>> 1;
+        if (ordinal <= mid) {
+            update(2 * node, lo, mid, ordinal, usable);
+        } else {
+            update(2 * node + 1, mid + 1, hi, ordinal, usable);
+        }
+        pull(node, lo, mid, hi);
+    }
+
+    // Returns {prefix, suffix, best, length} of the covered part of [from, to]
+    private int[] query(int node, int lo, int hi, int from, int to) {
+        if (from <= lo && hi <= to) {
+            return new int[] { prefix[node], suffix[node], best[node], hi - lo + 1 };
+        }
+        int mid = (lo + hi) >>> 1;
+        if (to <= mid) {
+            return query(2 * node, lo, mid, from, to);
+        }
+        if (from > mid) {
+            return query(2 * node + 1, mid + 1, hi, from, to);
+        }
+        int[] left = query(2 * node, lo, mid, from, to);
+        int[] right = query(2 * node + 1, mid + 1, hi, from, to);
+        boolean joined = joinsNext[mid];
+        int mergedPrefix = left[0] == left[3] && joined ? left[3] + right[0] : left[0];
+        int mergedSuffix = right[1] == right[3] && joined ? right[3] + left[1] : right[1];
+        int mergedBest = Math.max(Math.max(left[2], right[2]), joined ? left[1] + right[0] : 0);
+        return new int[] { mergedPrefix, mergedSuffix, mergedBest, left[3] + right[3] };
+    }
+
+    private void setLeaf(int node, boolean usable) {
+        int value = usable ? 1 : 0;
+        prefix[node] = value;
+        suffix[node] = value;
+        best[node] = value;
+    }
+
+    private void pull(int node, int lo, int mid, int hi) {
+        int left = 2 * node;
+        int right = left + 1;
+        boolean joined = joinsNext[mid];
+        int leftLength = mid - lo + 1;
+        int rightLength = hi - mid;
+        prefix[node] = prefix[left] == leftLength && joined ? leftLength + prefix[right] : prefix[left];
+        suffix[node] = suffix[right] == rightLength && joined ? rightLength + suffix[left] : suffix[right];
+        best[node] = Math.max(Math.max(best[left], best[right]), joined ? suffix[left] + prefix[right] : 0);
+    }
+}
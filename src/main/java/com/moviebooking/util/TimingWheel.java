@@ -0,0 +1,179 @@
+package com.moviebooking.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} levels of {@value #SLOTS} slots, each level a
+ * {@value #SLOTS}-fold coarser tick than the one below. Timers live in parallel primitive arrays
+ * linked into per-slot lists and recycled through a free list, so scheduling and cancelling are
+ * O(1) and allocate nothing once the arrays have grown. Timers in a coarse slot are redistributed
+ * to finer levels when the wheel reaches that slot.
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int NONE = -1;
+
+    private final long tickMillis;
+    private final int[] heads = new int[LEVELS * SLOTS];
+
+    // Timer storage, indexed by timer id
+    private long[] deadlineTicks;
+    private int[] next;
+    private int[] prev;
+    private int[] slots;
+    private int[] generations;
+    private Object[] payloads;
+
+    private int freeHead = NONE;
+    private int allocated;
+    private int size;
+    private long currentTick;
+
+    public TimingWheel(long tickMillis, long nowMillis, int initialCapacity) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        int capacity = Math.max(16, initialCapacity);
+        deadlineTicks = new long[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        slots = new int[capacity];
+        generations = new int[capacity];
+        payloads = new Object[capacity];
+        Arrays.fill(heads, NONE);
+    }
+
+    /**
+     * @return a handle for {@link #cancel}; deadlines already past fire on the next advance
+     */
+    public synchronized long schedule(T payload, long deadlineMillis) {
+        int id = allocate();
+        payloads[id] = payload;
+        deadlineTicks[id] = Math.max(currentTick + 1, Math.ceilDiv(deadlineMillis, tickMillis));
+        link(id);
+        size++;
+        return ((long) generations[id] << 32) | id;
+    }
+
+    /**
+     * @return false when the timer already fired or was cancelled
+     */
+    public synchronized boolean cancel(long handle) {
+        int id = (int) handle;
+        if (id < 0 || id >= allocated || generations[id] != (int) (handle >>> 32) || payloads[id] == null) {
+            return false;
+        }
+        unlink(id);
+        release(id);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to the given time and returns the payloads of every timer that came due, in deadline order.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick && size > 0) {
+            long tick = ++currentTick;
+            cascade(tick);
+            int slot = (int) (tick & SLOT_MASK);
+            int id = heads[slot];
+            heads[slot] = NONE;
+            while (id != NONE) {
+                int following = next[id];
+                expired.add((T) payloads[id]);
+                release(id);
+                size--;
+                id = following;
+            }
+        }
+        // Nothing left to fire, so skip the idle ticks in one step
+        currentTick = Math.max(currentTick, targetTick);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // At the start of a coarse slot's span, spread its timers over the finer levels, highest level first
+    private void cascade(long tick) {
+        int level = 0;
+        while (level + 1 < LEVELS && (tick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            int slot = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            int id = heads[slot];
+            heads[slot] = NONE;
+            while (id != NONE) {
+                int following = next[id];
+                link(id);
+                id = following;
+            }
+        }
+    }
+
+    private void link(int id) {
+        long delta = deadlineTicks[id] - currentTick;
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        // Beyond the top level's span: park in the farthest top slot and re-place on cascade
+        long tick = level + 1 == LEVELS && delta >= (1L << (SLOT_BITS * LEVELS))
+                ? currentTick + (1L << (SLOT_BITS * LEVELS)) - 1
+                : deadlineTicks[id];
+        int slot = level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        slots[id] = slot;
+        prev[id] = NONE;
+        next[id] = heads[slot];
+        if (heads[slot] != NONE) {
+            prev[heads[slot]] = id;
+        }
+        heads[slot] = id;
+    }
+
+    private void unlink(int id) {
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            heads[slots[id]] = next[id];
+        }
+        if (next[id] != NONE) {
+            prev[next[id]] = prev[id];
+        }
+    }
+
+    private int allocate() {
+        if (freeHead != NONE) {
+            int id = freeHead;
+            freeHead = next[id];
+            return id;
+        }
+        if (allocated == payloads.length) {
+            int capacity = payloads.length * 2;
+            deadlineTicks = Arrays.copyOf(deadlineTicks, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            slots = Arrays.copyOf(slots, capacity);
+            generations = Arrays.copyOf(generations, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        return allocated++;
+    }
+
+    private void release(int id) {
+        payloads[id] = null;
+        generations[id]++;
+        next[id] = freeHead;
+        freeHead = id;
+    }
+}
@@ -0,0 +1,7 @@
+package com.moviebooking.util;
+
+/**
+ * A response body serialized once for a given version and shared by every reader of that version.
+ */
+public record VersionedPayload(long version, byte[] body) {
+}
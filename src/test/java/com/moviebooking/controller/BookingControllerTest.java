@@ -0,0 +1,107 @@
+package com.moviebooking.controller;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.dto.request.BookingRequest;
+import com.moviebooking.model.dto.request.SeatAllocationRequest;
+import com.moviebooking.model.dto.request.SeatSelectionRequest;
+import com.moviebooking.model.dto.response.BookingResponse;
+import com.moviebooking.model.enums.PaymentMethod;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.service.BookingService;
+import com.moviebooking.service.IdempotencyService;
+import com.moviebooking.service.ShowCapacityService;
+import com.moviebooking.service.WaitingRoomService;
+import com.moviebooking.service.WaitlistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class BookingControllerTest {
+    private static final Principal ALICE = () -> "alice";
+    // Both shows have an open waiting room; each token admits alice to one of them
+    private static final Map<String, Long> TOKENS = Map.of("token-1", 1L, "token-2", 2L);
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private final WaitingRoomService waitingRoomService = mock(WaitingRoomService.class);
+    private BookingController controller;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(call -> {
+            Long showId = call.getArgument(0);
+            String token = call.getArgument(2);
+            if (token == null || !showId.equals(TOKENS.get(token))) {
+                throw new CustomExceptions.TooManyRequestsException("Show " + showId + " has a waiting room");
+            }
+            return null;
+        }).when(waitingRoomService).checkAdmission(anyLong(), anyString(), nullable(String.class));
+        controller = new BookingController(bookingService, waitingRoomService, mock(WaitlistService.class),
+                mock(ShowCapacityService.class), mock(IdempotencyService.class));
+    }
+
+    @Test
+    void holdingSeatsNeedsAnAdmissionToken() {
+        SeatSelectionRequest selection = new SeatSelectionRequest(1L, List.of("A1"), SeatCategory.REGULAR);
+        SeatAllocationRequest allocation = new SeatAllocationRequest(1L, 2, SeatCategory.REGULAR);
+
+        assertThatThrownBy(() -> controller.lockSeats(selection, null, ALICE))
+                .isInstanceOf(CustomExceptions.TooManyRequestsException.class);
+        assertThatThrownBy(() -> controller.allocateSeats(allocation, "token-2", ALICE))
+                .isInstanceOf(CustomExceptions.TooManyRequestsException.class);
+        verifyNoInteractions(bookingService);
+
+        controller.lockSeats(selection, "token-1", ALICE);
+        verify(bookingService).lockSeats(selection, "alice");
+    }
+
+    @Test
+    void modifyingSeatsIsGatedOnTheBookingsOwnShow() {
+        when(bookingService.getBooking(9L, "alice")).thenReturn(new BookingResponse(9L, 1L, 1L, null, null, null,
+                List.of("A1"), null, null, null, null));
+        // Naming another show in the request does not move the gate
+        BookingRequest request = request(2L, "A2");
+
+        assertThatThrownBy(() -> controller.modifyBooking(9L, request, "token-2", ALICE))
+                .isInstanceOf(CustomExceptions.TooManyRequestsException.class);
+        verify(bookingService, never()).modifyBooking(any(), any(), any());
+
+        controller.modifyBooking(9L, request, "token-1", ALICE);
+        verify(bookingService).modifyBooking(9L, request, "alice");
+    }
+
+    @Test
+    void groupBookingsNeedATokenForEveryShow() {
+        List<BookingRequest> group = List.of(request(1L, "A1"), request(2L, "A1"), request(1L, "A2"));
+
+        assertThatThrownBy(() -> controller.groupBooking(group, List.of("token-1"), ALICE))
+                .isInstanceOf(CustomExceptions.TooManyRequestsException.class)
+                .hasMessageContaining("Show 2");
+        assertThatThrownBy(() -> controller.groupBooking(List.of(request(1L, "A1")), null, ALICE))
+                .isInstanceOf(CustomExceptions.TooManyRequestsException.class);
+        verifyNoInteractions(bookingService);
+
+        assertThatCode(() -> controller.groupBooking(group, List.of("token-2", "token-1"), ALICE))
+                .doesNotThrowAnyException();
+        verify(bookingService).groupBooking(group, "alice");
+    }
+
+    private BookingRequest request(Long showId, String seat) {
+        return new BookingRequest(showId, List.of(seat), SeatCategory.REGULAR, PaymentMethod.CARD, null);
+    }
+}
@@ -0,0 +1,151 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.model.dto.response.BookingResponse;
+import com.moviebooking.model.dto.response.SliceResponse;
+import com.moviebooking.model.entity.Booking;
+import com.moviebooking.model.entity.BookingSeat;
+import com.moviebooking.model.entity.Movie;
+import com.moviebooking.model.entity.Payment;
+import com.moviebooking.model.entity.Screen;
+import com.moviebooking.model.entity.Show;
+import com.moviebooking.model.entity.Theater;
+import com.moviebooking.model.entity.User;
+import com.moviebooking.model.enums.BookingStatus;
+import com.moviebooking.model.enums.PaymentMethod;
+import com.moviebooking.model.enums.PaymentStatus;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.repository.MovieRepository;
+import com.moviebooking.repository.ScreenRepository;
+import com.moviebooking.repository.ShowRepository;
+import com.moviebooking.repository.TheaterRepository;
+import com.moviebooking.repository.UserRepository;
+import com.moviebooking.service.BookingQuotaService;
+import com.moviebooking.service.PaymentService;
+import com.moviebooking.service.PricingService;
+import com.moviebooking.service.PromoService;
+import com.moviebooking.service.SeatAvailabilityService;
+import com.moviebooking.service.SeatEventService;
+import com.moviebooking.service.SeatHoldService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatLockProvider;
+import com.moviebooking.service.ShowCapacityService;
+import com.moviebooking.service.WaitlistService;
+import com.moviebooking.util.EntityDtoMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * A page of bookings costs the same three statements whatever its size: the user's id, the
+ * booking rows with show, movie, theater and payment joined in, and the seats of all bookings
+ * on the page.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingReadStatementsTest {
+    private static final int BOOKINGS = 60;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ShowRepository showRepository;
+    @Autowired
+    private MovieRepository movieRepository;
+    @Autowired
+    private ScreenRepository screenRepository;
+    @Autowired
+    private TheaterRepository theaterRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BookingServiceImpl bookingService;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder().username("reader").email("reader@example.com")
+                .password("secret").build());
+        Theater theater = theaterRepository.save(Theater.builder().name("Odeon").build());
+        Screen screen = screenRepository.save(Screen.builder().name("Screen 1").theater(theater).build());
+        Movie movie = movieRepository.save(Movie.builder().title("Heat").build());
+        Show show = showRepository.save(Show.builder().movie(movie).screen(screen)
+                .startTime(LocalDateTime.now().plusDays(1)).build());
+
+        LocalDateTime bookedAt = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = Booking.builder().user(user).show(show).bookingTime(bookedAt.plusMinutes(i))
+                    .status(BookingStatus.CONFIRMED).totalAmount(new BigDecimal("20.00")).build();
+            booking.setBookingSeats(Set.of(seat(booking, show, "A" + (2 * i)), seat(booking, show, "A" + (2 * i + 1))));
+            booking.setPayment(Payment.builder().booking(booking).amount(booking.getTotalAmount())
+                    .status(PaymentStatus.SUCCESS).paymentMethod(PaymentMethod.CARD).build());
+            bookingRepository.save(booking);
+        }
+
+        bookingService = new BookingServiceImpl(bookingRepository, showRepository, bookingSeatRepository,
+                mock(PaymentService.class), userRepository, new EntityDtoMapper(), mock(PromoService.class),
+                mock(SeatInventoryService.class), mock(SeatHoldService.class), mock(SeatEventService.class),
+                mock(SeatAvailabilityService.class), mock(SeatLockProvider.class),
+                new TransactionTemplate(transactionManager), mock(PricingService.class),
+                mock(ShowMailboxDispatcher.class), mock(WaitlistService.class), new SeatContentionTracker(),
+                mock(ShowCapacityService.class), mock(BookingQuotaService.class));
+    }
+
+    @Test
+    void pageCostsTheSameStatementsForOneOrFiftyBookings() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        SliceResponse<BookingResponse> one = bookingService.getBookingsByUser("reader", null, 1);
+        long statementsForOne = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        SliceResponse<BookingResponse> fifty = bookingService.getBookingsByUser("reader", null, 50);
+        long statementsForFifty = statistics.getPrepareStatementCount();
+
+        assertThat(one.content()).hasSize(1);
+        assertThat(fifty.content()).hasSize(50).allSatisfy(response -> {
+            assertThat(response.seatNumbers()).hasSize(2);
+            assertThat(response.movieTitle()).isEqualTo("Heat");
+            assertThat(response.theaterName()).isEqualTo("Odeon");
+            assertThat(response.paymentStatus()).isEqualTo(PaymentStatus.SUCCESS.name());
+        });
+        assertThat(statementsForOne).isEqualTo(3);
+        assertThat(statementsForFifty).isEqualTo(statementsForOne);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+
+        // The next page from the cursor costs the same
+        statistics.clear();
+        SliceResponse<BookingResponse> next = bookingService.getBookingsByUser("reader", fifty.nextCursor(), 50);
+        assertThat(next.content()).hasSize(BOOKINGS - 50);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsForOne);
+    }
+
+    private BookingSeat seat(Booking booking, Show show, String seatNumber) {
+        return BookingSeat.builder().booking(booking).show(show).seatNumber(seatNumber)
+                .seatCategory(SeatCategory.REGULAR).price(new BigDecimal("10.00")).build();
+    }
+}
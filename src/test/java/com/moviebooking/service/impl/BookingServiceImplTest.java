@@ -0,0 +1,96 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.model.dto.request.BookingRequest;
+import com.moviebooking.model.entity.Booking;
+import com.moviebooking.model.entity.BookingSeat;
+import com.moviebooking.model.entity.Show;
+import com.moviebooking.model.entity.User;
+import com.moviebooking.model.enums.BookingStatus;
+import com.moviebooking.model.enums.PaymentMethod;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.repository.UserRepository;
+import com.moviebooking.service.BookingQuotaService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatLockProvider;
+import com.moviebooking.service.ShowCapacityService;
+import com.moviebooking.service.WaitlistService;
+import com.moviebooking.util.PriceQuote;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceImplTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingSeatRepository bookingSeatRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private SeatInventoryService seatInventoryService;
+    @Mock
+    private SeatLockProvider seatLockProvider;
+    @Mock
+    private ShowCapacityService showCapacityService;
+    @Mock
+    private BookingQuotaService bookingQuotaService;
+    @Mock
+    private WaitlistService waitlistService;
+
+    @InjectMocks
+    private BookingServiceImpl bookingService;
+
+    @Test
+    void modifyRejectsCancelledBooking() {
+        User user = User.builder().id(7L).username("alice").build();
+        Booking booking = Booking.builder().id(42L).user(user).show(Show.builder().id(3L).build())
+                .status(BookingStatus.CANCELLED).build();
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(bookingRepository.findById(42L)).thenReturn(Optional.of(booking));
+
+        BookingRequest request = new BookingRequest(3L, List.of("A1", "A2"), SeatCategory.REGULAR,
+                PaymentMethod.CARD, null);
+        assertThatThrownBy(() -> bookingService.modifyBooking(42L, request, "alice"))
+                .isInstanceOf(CustomExceptions.InvalidRequestException.class)
+                .hasMessageContaining("42");
+
+        // Rejected before any quota, capacity, seat or lock work
+        verifyNoInteractions(bookingQuotaService, showCapacityService, seatInventoryService, seatLockProvider,
+                bookingSeatRepository);
+    }
+
+    @Test
+    void seatsDroppedByAModificationAreOfferedToTheWaitlist() {
+        Show show = Show.builder().id(3L).build();
+        Booking booking = Booking.builder().id(42L).show(show).status(BookingStatus.CONFIRMED).build();
+        when(bookingSeatRepository.findByBookingId(42L)).thenReturn(List.of(
+                BookingSeat.builder().booking(booking).show(show).seatNumber("A1").build(),
+                BookingSeat.builder().booking(booking).show(show).seatNumber("A2").build()));
+        PriceQuote quote = new PriceQuote(2_000, 0, null, new SeatCategory[] { SeatCategory.REGULAR,
+                SeatCategory.REGULAR }, new long[] { 1_000, 1_000 });
+
+        // A1 and A2 become A2 and A3
+        ReflectionTestUtils.invokeMethod(bookingService, "updateBookingSeats", booking, List.of("A2", "A3"),
+                List.of("A3"), quote);
+
+        verify(seatInventoryService).release(3L, List.of("A1"));
+        verify(showCapacityService).seatsReleased(3L, List.of("A1"));
+        verify(waitlistService).seatsReleased(3L, List.of("A1"));
+        verify(seatInventoryService).markBooked(3L, List.of("A3"));
+    }
+}
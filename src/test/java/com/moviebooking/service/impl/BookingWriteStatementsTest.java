@@ -0,0 +1,138 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.model.dto.request.BookingRequest;
+import com.moviebooking.model.entity.Show;
+import com.moviebooking.model.entity.User;
+import com.moviebooking.model.enums.PaymentMethod;
+import com.moviebooking.model.enums.SeatCategory;
+import com.moviebooking.repository.BookingRepository;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.repository.PaymentRepository;
+import com.moviebooking.repository.ShowRepository;
+import com.moviebooking.repository.UserRepository;
+import com.moviebooking.service.BookingQuotaService;
+import com.moviebooking.service.PricingService;
+import com.moviebooking.service.PromoService;
+import com.moviebooking.service.SeatAvailabilityService;
+import com.moviebooking.service.SeatEventService;
+import com.moviebooking.service.SeatHoldService;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatLockProvider;
+import com.moviebooking.service.ShowCapacityService;
+import com.moviebooking.service.WaitlistService;
+import com.moviebooking.util.EntityDtoMapper;
+import com.moviebooking.util.PriceQuote;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The booking write transaction costs the same three statements whatever the seat count: the
+ * booking insert, one batched insert for all of its seats and the payment insert. Runs in
+ * optimistic mode, which is the write alone; locked mode adds the one post-lock conflict query.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+// A fresh database, so the sequence blocks are not left half used by other tests
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class BookingWriteStatementsTest {
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+    @Autowired
+    private PaymentRepository paymentRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ShowRepository showRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BookingServiceImpl bookingService;
+    private Show show;
+    private int nextSeat;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder().username("writer").email("writer@example.com")
+                .password("secret").build());
+        show = showRepository.save(Show.builder().build());
+
+        // Entities are looked up before the write transaction; only the write itself is under test
+        UserRepository users = mock(UserRepository.class);
+        when(users.findByUsername("writer")).thenReturn(Optional.of(user));
+        ShowRepository shows = mock(ShowRepository.class);
+        when(shows.findById(show.getId())).thenReturn(Optional.of(show));
+        PricingService pricingService = mock(PricingService.class);
+        when(pricingService.quote(anyLong(), any(), any(), any())).thenAnswer(call -> {
+            int seats = call.<List<String>>getArgument(1).size();
+            SeatCategory[] categories = new SeatCategory[seats];
+            long[] prices = new long[seats];
+            Arrays.fill(categories, SeatCategory.REGULAR);
+            Arrays.fill(prices, 250L);
+            return new PriceQuote(250L * seats, 0, null, categories, prices);
+        });
+
+        EntityDtoMapper mapper = mock(EntityDtoMapper.class);
+        bookingService = new BookingServiceImpl(bookingRepository, shows, bookingSeatRepository,
+                new PaymentServiceImpl(paymentRepository, bookingRepository, mapper), users, mapper,
+                mock(PromoService.class), mock(SeatInventoryService.class), mock(SeatHoldService.class),
+                mock(SeatEventService.class), mock(SeatAvailabilityService.class), mock(SeatLockProvider.class),
+                new TransactionTemplate(transactionManager), pricingService, mock(ShowMailboxDispatcher.class),
+                mock(WaitlistService.class), new SeatContentionTracker(), mock(ShowCapacityService.class),
+                mock(BookingQuotaService.class));
+        ReflectionTestUtils.setField(bookingService, "bookingMode", "optimistic");
+    }
+
+    @Test
+    void bookingWritesAtMostThreeStatementsWhateverTheSeatCount() {
+        // Sequence round trips come once per 50 ids; the pooled optimizer starts with two, paid here
+        book(1);
+        book(1);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int seats : new int[] { 1, 10, 30 }) {
+            statistics.clear();
+            book(seats);
+            assertThat(statistics.getPrepareStatementCount())
+                    .as("statements to book %d seats", seats)
+                    .isLessThanOrEqualTo(3);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(seats + 2L);
+        }
+    }
+
+    private void book(int seatCount) {
+        List<String> seats = new ArrayList<>();
+        for (int i = 0; i < seatCount; i++) {
+            seats.add("S" + nextSeat++);
+        }
+        bookingService.book(new BookingRequest(show.getId(), seats, SeatCategory.REGULAR, PaymentMethod.CARD,
+                null), "writer");
+    }
+}
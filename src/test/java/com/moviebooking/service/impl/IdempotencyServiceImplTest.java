@@ -0,0 +1,101 @@
+package com.moviebooking.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceImplTest {
+    // The one record key under test, as Redis holds it
+    private final AtomicReference<String> stored = new AtomicReference<>();
+    private final AtomicReference<Duration> pendingTtl = new AtomicReference<>();
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RBucket<String> bucket = mock(RBucket.class);
+        when(bucket.setIfAbsent(anyString(), any(Duration.class))).thenAnswer(call -> {
+            pendingTtl.set(call.getArgument(1));
+            return stored.compareAndSet(null, call.getArgument(0));
+        });
+        when(bucket.get()).thenAnswer(call -> stored.get());
+        // Both scripts compare the record against this attempt's PENDING value first
+        RScript script = mock(RScript.class, invocation -> {
+            Object[] arguments = invocation.getArguments();
+            String pending = (String) arguments[4];
+            if (!pending.equals(stored.get())) {
+                return 0L;
+            }
+            stored.set(arguments.length > 5 ? (String) arguments[5] : null);
+            return 1L;
+        });
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.<String>getBucket(anyString(), any(Codec.class))).thenReturn(bucket);
+        when(redissonClient.getScript(any(Codec.class))).thenReturn(script);
+
+        idempotencyService = new IdempotencyServiceImpl(redissonClient, new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyService, "ttlHours", 24L);
+        ReflectionTestUtils.setField(idempotencyService, "pendingSlackSeconds", 10L);
+        ReflectionTestUtils.setField(idempotencyService, "lockWaitMillis", 250L);
+        ReflectionTestUtils.setField(idempotencyService, "lockLeaseSeconds", 30L);
+        ReflectionTestUtils.setField(idempotencyService, "mailboxCapacity", 1000);
+        ReflectionTestUtils.setField(idempotencyService, "hotRequestsPerSecond", 50);
+        ReflectionTestUtils.setField(idempotencyService, "waitSeconds", 1L);
+        ReflectionTestUtils.setField(idempotencyService, "pollMillis", 10L);
+    }
+
+    @Test
+    void pendingRecordOutlivesTheBookingsBudgets() {
+        idempotencyService.execute("alice", "key", Map.of("seat", "A1"), String.class,
+                () -> CompletableFuture.completedFuture("booked"));
+        assertThat(pendingTtl.get()).isEqualTo(Duration.ofMillis(40_250));
+
+        // A full hot-show mailbox drains in 1000 / 50 = 20 seconds
+        ReflectionTestUtils.setField(idempotencyService, "hotShowEnabled", true);
+        assertThat(idempotencyService.pendingTtl()).isEqualTo(Duration.ofMillis(60_250));
+    }
+
+    @Test
+    void completedAttemptReplacesItsOwnPendingRecord() {
+        String result = idempotencyService.execute("alice", "key", Map.of("seat", "A1"), String.class,
+                () -> CompletableFuture.completedFuture("booked")).join();
+
+        assertThat(result).isEqualTo("booked");
+        assertThat(stored.get()).contains("\"DONE\"").contains("booked");
+    }
+
+    @Test
+    void lateAttemptLeavesARecordItNoLongerOwns() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        idempotencyService.execute("alice", "key", Map.of("seat", "A1"), String.class, () -> first);
+        // The first attempt overran its PENDING record, and a retry took the key over
+        String takenOver = stored.get().replaceAll("\"attempt\":\"[^\"]+\"", "\"attempt\":\"retry\"");
+        stored.set(takenOver);
+
+        first.completeExceptionally(new IllegalStateException("failed late"));
+        assertThat(stored.get()).isEqualTo(takenOver);
+
+        CompletableFuture<String> second = new CompletableFuture<>();
+        stored.set(null);
+        idempotencyService.execute("alice", "key", Map.of("seat", "A1"), String.class, () -> second);
+        stored.set(takenOver);
+        second.complete("booked");
+        assertThat(stored.get()).isEqualTo(takenOver);
+    }
+}
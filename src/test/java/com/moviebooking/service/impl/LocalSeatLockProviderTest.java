@@ -0,0 +1,95 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.service.SeatLockProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+class LocalSeatLockProviderTest {
+    private final LocalSeatLockProvider provider = new LocalSeatLockProvider(1024);
+
+    @Test
+    void otherSeatsOfTheSameShowDoNotWait() throws Exception {
+        String other = seatOnAnotherStripe(1L, "A1");
+        try (SeatLockProvider.SeatLockSession locks = provider.openSession(Duration.ZERO)) {
+            locks.lockAll(1L, List.of("A1"));
+            assertThat(inOtherThread(() -> {
+                try (SeatLockProvider.SeatLockSession second = provider.openSession(Duration.ZERO)) {
+                    second.lockAll(1L, List.of(other));
+                }
+                return null;
+            })).isNull();
+        }
+    }
+
+    @Test
+    void contendedSeatsAreReported() throws Exception {
+        try (SeatLockProvider.SeatLockSession locks = provider.openSession(Duration.ZERO)) {
+            locks.lockAll(1L, List.of("A1"));
+            Object failure = inOtherThread(() -> {
+                try (SeatLockProvider.SeatLockSession second = provider.openSession(Duration.ofMillis(20))) {
+                    second.lockAll(1L, List.of("A1"));
+                    return null;
+                } catch (CustomExceptions.SeatLockedException e) {
+                    return e;
+                }
+            });
+            assertThat(failure).isInstanceOf(CustomExceptions.SeatLockedException.class);
+            CustomExceptions.SeatLockedException e = (CustomExceptions.SeatLockedException) failure;
+            assertThat(e.getShowId()).isEqualTo(1L);
+            assertThat(e.getSeatNumbers()).containsExactly("A1");
+        }
+    }
+
+    @Test
+    void seatsSharingAStripeAcrossShowsLockOnce() {
+        // Stripes shared between the shows are taken once, so the session never waits on itself
+        Map<Long, List<String>> seatsByShow = new TreeMap<>();
+        seatsByShow.put(1L, List.of("A1", "A2", "A3"));
+        seatsByShow.put(2L, List.of("A1", "A2", "A3"));
+        try (SeatLockProvider.SeatLockSession locks = provider.openSession(Duration.ZERO)) {
+            assertThatCode(() -> locks.lockAll(seatsByShow)).doesNotThrowAnyException();
+        }
+        // Everything was released on close
+        assertThatCode(() -> inOtherThread(() -> {
+            try (SeatLockProvider.SeatLockSession again = provider.openSession(Duration.ZERO)) {
+                again.lockAll(seatsByShow);
+            }
+            return null;
+        })).doesNotThrowAnyException();
+    }
+
+    private String seatOnAnotherStripe(Long showId, String seat) {
+        int stripe = provider.stripeIndex(showId, seat);
+        for (int number = 2; ; number++) {
+            String candidate = "A" + number;
+            if (provider.stripeIndex(showId, candidate) != stripe) {
+                return candidate;
+            }
+        }
+    }
+
+    private Object inOtherThread(Callable<Object> task) throws InterruptedException {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
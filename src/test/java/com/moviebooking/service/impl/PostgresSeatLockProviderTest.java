@@ -0,0 +1,30 @@
+package com.moviebooking.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostgresSeatLockProviderTest {
+
+    @Test
+    void lockKeyKeepsShowAndOrdinalApart() {
+        assertThat(PostgresSeatLockProvider.lockKey(1L, 0)).isEqualTo(1L << 20);
+        assertThat(PostgresSeatLockProvider.lockKey(1L, 5)).isNotEqualTo(PostgresSeatLockProvider.lockKey(2L, 5));
+        assertThat(PostgresSeatLockProvider.lockKey(1L, 5)).isNotEqualTo(PostgresSeatLockProvider.lockKey(1L, 6));
+        assertThat(PostgresSeatLockProvider.lockKey(3L, 7) & ((1L << 20) - 1)).isEqualTo(7L);
+    }
+
+    @Test
+    void lockKeyAcceptsShowIdsPastIntRange() {
+        long showId = Integer.MAX_VALUE + 10L;
+        assertThat(PostgresSeatLockProvider.lockKey(showId, 12) >>> 20).isEqualTo(showId);
+        assertThat(PostgresSeatLockProvider.lockKey(Long.MAX_VALUE, 12)).isPositive();
+    }
+
+    @Test
+    void lockKeyRejectsOrdinalsPastTheirBits() {
+        assertThatThrownBy(() -> PostgresSeatLockProvider.lockKey(1L, 1 << 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
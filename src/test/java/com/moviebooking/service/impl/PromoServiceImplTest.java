@@ -0,0 +1,43 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.model.entity.Booking;
+import com.moviebooking.model.entity.PromoCode;
+import com.moviebooking.repository.PromoCodeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class PromoServiceImplTest {
+    private final PromoServiceImpl promoService = new PromoServiceImpl(mock(PromoCodeRepository.class));
+
+    @Test
+    void discountsFollowTheSameRuleAsQuotes() {
+        Booking booking = Booking.builder().totalAmount(new BigDecimal("30.00")).build();
+        PromoCode fixed = PromoCode.builder().id(1L).discountAmount(new BigDecimal("50.00"))
+                .discountPercentage(BigDecimal.TEN).isActive(true).build();
+        PromoCode percentage = PromoCode.builder().id(2L).discountPercentage(new BigDecimal("12.5")).isActive(true)
+                .build();
+        PromoCode expired = PromoCode.builder().id(3L).discountAmount(BigDecimal.ONE).isActive(true)
+                .expiryDate(LocalDateTime.now().minusDays(1)).build();
+
+        // Capped at the booking total
+        assertThat(promoService.calculateDiscount(fixed, booking)).isEqualByComparingTo("30.00");
+        assertThat(promoService.calculateDiscount(percentage, booking)).isEqualByComparingTo("3.75");
+        assertThat(promoService.calculateDiscount(expired, booking)).isEqualByComparingTo("0");
+        assertThat(promoService.validatePromoCode(percentage, booking)).isEqualByComparingTo("3.75");
+    }
+
+    @Test
+    void inactiveCodesFailValidation() {
+        PromoCode inactive = PromoCode.builder().id(1L).discountAmount(BigDecimal.ONE).isActive(false).build();
+
+        assertThatThrownBy(() -> promoService.validatePromoCode(inactive, Booking.builder().build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(promoService.calculateDiscount(inactive, Booking.builder().build())).isEqualByComparingTo("0");
+    }
+}
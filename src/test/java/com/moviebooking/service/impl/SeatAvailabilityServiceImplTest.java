@@ -0,0 +1,93 @@
+package com.moviebooking.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebooking.repository.BookingSeatRepository;
+import com.moviebooking.util.VersionedPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RBucket;
+import org.redisson.api.RList;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.RedisException;
+import org.redisson.client.codec.Codec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatAvailabilityServiceImplTest {
+    private final List<String> scripts = new ArrayList<>();
+    private final List<String> bookedSeats = new ArrayList<>(List.of("A1"));
+    private long version = 1;
+    private boolean appendFails;
+    private boolean resetFails;
+    private SeatAvailabilityServiceImpl availabilityService;
+
+    @BeforeEach
+    void setUp() {
+        // Answers like the scripts against a version counter, failing on demand
+        RScript script = mock(RScript.class, invocation -> {
+            String source = invocation.getArgument(1);
+            boolean append = source.contains("RPUSH");
+            scripts.add(append ? "append" : "reset");
+            if (append ? appendFails : resetFails) {
+                throw new RedisException("Redis is unavailable");
+            }
+            return ++version;
+        });
+        RBucket<Object> bucket = mock(RBucket.class);
+        when(bucket.get()).thenAnswer(invocation -> String.valueOf(version));
+        // Every append under test fails, so the log is always empty after the reset
+        RList<Object> changes = mock(RList.class);
+        when(changes.readAll()).thenReturn(List.of());
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getScript(any(Codec.class))).thenReturn(script);
+        when(redissonClient.getBucket(anyString(), any(Codec.class))).thenReturn(bucket);
+        when(redissonClient.getList(anyString(), any(Codec.class))).thenReturn(changes);
+        BookingSeatRepository bookingSeatRepository = mock(BookingSeatRepository.class);
+        when(bookingSeatRepository.findActiveSeatNumbersByShowId(anyLong()))
+                .thenAnswer(invocation -> List.copyOf(bookedSeats));
+
+        availabilityService = new SeatAvailabilityServiceImpl(redissonClient, bookingSeatRepository, new ObjectMapper());
+        ReflectionTestUtils.setField(availabilityService, "maxChanges", 1000);
+    }
+
+    @Test
+    void failedAppendStillMovesClientsOffTheirVersion() {
+        VersionedPayload cached = availabilityService.getAvailability(1L, null).orElseThrow();
+        appendFails = true;
+        bookedSeats.add("A2");
+
+        long bumped = availabilityService.recordChange(1L, true, List.of("A2"));
+
+        assertThat(bumped).isGreaterThan(cached.version());
+        assertThat(scripts).containsExactly("append", "reset");
+        VersionedPayload fresh = availabilityService.getAvailability(1L, cached.version()).orElseThrow();
+        assertThat(new String(fresh.body())).contains("A2");
+    }
+
+    @Test
+    void versionIsBumpedOnTheNextReadOnceRedisRecovers() {
+        VersionedPayload cached = availabilityService.getAvailability(1L, null).orElseThrow();
+        appendFails = true;
+        resetFails = true;
+        bookedSeats.add("A2");
+
+        assertThat(availabilityService.recordChange(1L, true, List.of("A2"))).isZero();
+        appendFails = false;
+        resetFails = false;
+
+        VersionedPayload fresh = availabilityService.getAvailability(1L, cached.version()).orElseThrow();
+        assertThat(fresh.version()).isGreaterThan(cached.version());
+        assertThat(new String(fresh.body())).contains("A2");
+        assertThat(scripts).containsExactly("append", "reset", "reset");
+    }
+}
@@ -0,0 +1,125 @@
+package com.moviebooking.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moviebooking.model.dto.response.SeatMapEvent;
+import com.moviebooking.model.enums.SeatEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.Codec;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatEventServiceImplTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SeatEventServiceImpl seatEventService;
+    private MessageListener<String> listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RTopic topic = mock(RTopic.class);
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getTopic(anyString(), any(Codec.class))).thenReturn(topic);
+        seatEventService = new SeatEventServiceImpl(redissonClient, objectMapper);
+        seatEventService.init();
+
+        ArgumentCaptor<MessageListener<String>> captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addListener(eq(String.class), captor.capture());
+        listener = captor.getValue();
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatEventService.shutdown();
+    }
+
+    @Test
+    void slowClientOfOneShowDoesNotHoldUpOthers() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        seatEventService.subscribe(1L, slow, List::of);
+        seatEventService.subscribe(2L, fast, List::of);
+        slow.block = true;
+
+        // Returns at once although show 1's only client is stuck
+        deliver(1L, "A1");
+        deliver(1L, "A2");
+        deliver(2L, "B1");
+
+        assertThat(fast.events.poll(5, TimeUnit.SECONDS)).isEqualTo("BOOKED");
+        unblock.countDown();
+        // Show 1 still gets its events, in order
+        assertThat(slow.events.poll(5, TimeUnit.SECONDS)).isEqualTo("BOOKED");
+        assertThat(slow.events.poll(5, TimeUnit.SECONDS)).isEqualTo("BOOKED");
+        assertThat(slow.seats).containsExactly("[A1]", "[A2]");
+    }
+
+    @Test
+    void showIsDroppedWithItsLastSubscriber() {
+        RecordingEmitter first = new RecordingEmitter(null);
+        RecordingEmitter second = new RecordingEmitter(null);
+        seatEventService.subscribe(1L, first, List::of);
+        seatEventService.subscribe(1L, second, List::of);
+
+        seatEventService.unsubscribe(1L, first);
+        assertThat(seatEventService.isSubscribed(1L)).isTrue();
+        seatEventService.unsubscribe(1L, second);
+        assertThat(seatEventService.isSubscribed(1L)).isFalse();
+    }
+
+    private void deliver(Long showId, String seat) throws Exception {
+        listener.onMessage("seat-events", objectMapper.writeValueAsString(
+                new SeatMapEvent(showId, SeatEventType.BOOKED, List.of(seat), System.currentTimeMillis())));
+    }
+
+    // Records event names, and seats of deltas; blocks its sends once told to
+    private static final class RecordingEmitter extends SseEmitter {
+        private final CountDownLatch unblock;
+        private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        private final BlockingQueue<String> seats = new LinkedBlockingQueue<>();
+        private volatile boolean block;
+
+        private RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (block) {
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof SeatMapEvent)
+                    .map(part -> (SeatMapEvent) part.getData())
+                    .filter(event -> event.type() != SeatEventType.SNAPSHOT)
+                    .forEach(event -> {
+                        seats.add(event.seatNumbers().toString());
+                        events.add(event.type().name());
+                    });
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.service.SeatInventoryService;
+import com.moviebooking.service.SeatLockProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lock throughput of the three seat lock providers under the same booking workload: threads
+ * lock a block of adjacent seats in one of a few shows, hold them briefly and let go. Overlapping
+ * blocks contend. Every run also checks that no seat is ever held by two sessions at once.
+ * <p>
+ * Nothing runs in the default build. The local provider runs with {@code -Dbenchmark.local=true};
+ * Redis and Postgres run when pointed at a server:
+ * {@code -Dbenchmark.redis.address=redis://localhost:6379} and
+ * {@code -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/db} (plus
+ * {@code benchmark.postgres.user} and {@code benchmark.postgres.password}). Threads and run time
+ * are set with {@code benchmark.threads} and {@code benchmark.millis}. Results are logged.
+ */
+@Slf4j
+class SeatLockProviderBenchmarkTest {
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+    private static final long RUN_MILLIS = Long.getLong("benchmark.millis", 300L);
+    private static final int SHOWS = 4;
+    private static final int SEATS_PER_SHOW = 200;
+    private static final int SEATS_PER_BOOKING = 4;
+    private static final Duration MAX_WAIT = Duration.ofMillis(50);
+
+    @Test
+    void local() throws InterruptedException {
+        assumeTrue(Boolean.getBoolean("benchmark.local"), "benchmark.local not set");
+        report("local", run(new LocalSeatLockProvider(1024), null));
+    }
+
+    @Test
+    void redis() throws InterruptedException {
+        String address = System.getProperty("benchmark.redis.address");
+        assumeTrue(address != null, "benchmark.redis.address not set");
+        Config config = new Config();
+        config.useSingleServer().setAddress(address);
+        RedissonClient client = Redisson.create(config);
+        try {
+            RedisSeatLockProvider provider = new RedisSeatLockProvider(client);
+            ReflectionTestUtils.setField(provider, "leaseSeconds", 30L);
+            report("redis", run(provider, null));
+        } finally {
+            client.shutdown();
+        }
+    }
+
+    @Test
+    void postgres() throws InterruptedException {
+        String url = System.getProperty("benchmark.postgres.url");
+        assumeTrue(url != null, "benchmark.postgres.url not set");
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url,
+                System.getProperty("benchmark.postgres.user", "postgres"),
+                System.getProperty("benchmark.postgres.password", ""));
+        SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+        when(seatInventoryService.ordinalOf(anyLong(), anyString()))
+                .thenAnswer(call -> Integer.parseInt(call.<String>getArgument(1).substring(1)));
+        PostgresSeatLockProvider provider = new PostgresSeatLockProvider(new JdbcTemplate(dataSource),
+                seatInventoryService);
+        report("postgres", run(provider, new TransactionTemplate(new DataSourceTransactionManager(dataSource))));
+    }
+
+    private Result run(SeatLockProvider provider, TransactionTemplate transactionTemplate)
+            throws InterruptedException {
+        AtomicIntegerArray holders = new AtomicIntegerArray(SHOWS * SEATS_PER_SHOW);
+        AtomicLong booked = new AtomicLong();
+        AtomicLong contended = new AtomicLong();
+        AtomicLong overlaps = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                awaitQuietly(start);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    long showId = 1 + random.nextInt(SHOWS);
+                    int first = random.nextInt(SEATS_PER_SHOW - SEATS_PER_BOOKING);
+                    List<String> seats = new ArrayList<>();
+                    for (int seat = first; seat < first + SEATS_PER_BOOKING; seat++) {
+                        seats.add("S" + seat);
+                    }
+                    try (SeatLockProvider.SeatLockSession locks = provider.openSession(MAX_WAIT)) {
+                        Runnable booking = () -> {
+                            locks.lockAll(showId, seats);
+                            hold(holders, overlaps, showId, first);
+                        };
+                        if (provider.isTransactional()) {
+                            transactionTemplate.executeWithoutResult(status -> booking.run());
+                        } else {
+                            booking.run();
+                        }
+                        booked.incrementAndGet();
+                    } catch (CustomExceptions.SeatLockedException e) {
+                        contended.incrementAndGet();
+                    }
+                }
+            });
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(RUN_MILLIS + 30_000, TimeUnit.MILLISECONDS)).isTrue();
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return new Result(booked.get(), contended.get(), overlaps.get(), elapsedNanos);
+    }
+
+    // The booking's critical section: claim every seat, let others contend briefly, release
+    private void hold(AtomicIntegerArray holders, AtomicLong overlaps, long showId, int first) {
+        int base = (int) (showId - 1) * SEATS_PER_SHOW + first;
+        for (int i = 0; i < SEATS_PER_BOOKING; i++) {
+            if (holders.getAndIncrement(base + i) != 0) {
+                overlaps.incrementAndGet();
+            }
+        }
+        Thread.onSpinWait();
+        for (int i = 0; i < SEATS_PER_BOOKING; i++) {
+            holders.decrementAndGet(base + i);
+        }
+    }
+
+    private void report(String provider, Result result) {
+        String summary = String.format("%s: %,.0f bookings/s, %,d booked, %,d contended (%d threads, %d ms)",
+                provider, result.perSecond(), result.booked(), result.contended(), THREADS, RUN_MILLIS);
+        log.info(summary);
+        assertThat(result.overlaps()).as("seats held by two sessions at once; %s", summary).isZero();
+        assertThat(result.booked()).as(summary).isPositive();
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Result(long booked, long contended, long overlaps, long elapsedNanos) {
+        double perSecond() {
+            return booked * 1e9 / elapsedNanos;
+        }
+    }
+}
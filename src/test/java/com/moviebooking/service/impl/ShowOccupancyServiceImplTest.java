@@ -0,0 +1,115 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.model.enums.SeatCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShowOccupancyServiceImplTest {
+    private static final long[] CAPACITY = { 10, 0, 0, 0 };
+
+    private final List<List<Object>> scriptArgs = new ArrayList<>();
+    private final AtomicInteger indexScans = new AtomicInteger();
+    private final Supplier<long[]> bookedCounts = () -> {
+        indexScans.incrementAndGet();
+        return new long[] { 2, 0, 0, 0 };
+    };
+    private boolean hashExists = true;
+    private ShowOccupancyServiceImpl occupancyService;
+
+    @BeforeEach
+    void setUp() {
+        // Answers like the script: nothing for a missing hash without seeds, else the deltas or seeds
+        RScript script = mock(RScript.class, invocation -> {
+            Object[] arguments = invocation.getArguments();
+            List<Object> values = Arrays.asList(arguments).subList(4, arguments.length);
+            scriptArgs.add(values);
+            int slots = Integer.parseInt((String) values.get(1));
+            if (!hashExists && values.size() < 2 + 2 * slots) {
+                return List.of();
+            }
+            int from = hashExists ? 2 : 2 + slots;
+            return values.subList(from, from + slots).stream().map(value -> Long.parseLong((String) value)).toList();
+        });
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getScript(any(Codec.class))).thenReturn(script);
+
+        occupancyService = new ShowOccupancyServiceImpl(redissonClient);
+        ReflectionTestUtils.setField(occupancyService, "enabled", true);
+        ReflectionTestUtils.setField(occupancyService, "reseedMinutes", 60L);
+        ReflectionTestUtils.setField(occupancyService, "refreshMillis", 60_000L);
+    }
+
+    @Test
+    void nothingIsTrackedWhileDynamicPricingIsOff() {
+        ReflectionTestUtils.setField(occupancyService, "enabled", false);
+
+        occupancyService.register(1L, CAPACITY, bookedCounts, inOneHour());
+        occupancyService.record(1L, new long[] { 1, 0, 0, 0 }, 1);
+        occupancyService.reconcile();
+
+        assertThat(occupancyService.trackedShows()).isEmpty();
+        assertThat(scriptArgs).isEmpty();
+        assertThat(indexScans).hasValue(0);
+    }
+
+    @Test
+    void idleShowsSkipTheRoundTripUntilTheirTotalsAreStale() {
+        occupancyService.register(1L, CAPACITY, bookedCounts, inOneHour());
+        occupancyService.reconcile();
+        occupancyService.reconcile();
+        assertThat(scriptArgs).hasSize(1);
+
+        occupancyService.record(1L, new long[] { 3, 0, 0, 0 }, 1);
+        occupancyService.reconcile();
+        assertThat(scriptArgs).hasSize(2);
+        assertThat(occupancyService.occupancy(1L, SeatCategory.REGULAR)).isEqualTo(0.3);
+        // Only registering scanned the index
+        assertThat(indexScans).hasValue(1);
+    }
+
+    @Test
+    void indexIsScannedOnlyWhenTheSharedHashIsMissing() {
+        hashExists = false;
+        occupancyService.register(1L, CAPACITY, bookedCounts, inOneHour());
+        occupancyService.reconcile();
+
+        assertThat(scriptArgs).hasSize(2);
+        assertThat(scriptArgs.get(1)).hasSize(2 + 2 * CAPACITY.length);
+        assertThat(indexScans).hasValue(2);
+        assertThat(occupancyService.occupancy(1L, SeatCategory.REGULAR)).isEqualTo(0.2);
+    }
+
+    @Test
+    void startedAndEvictedShowsAreDropped() throws InterruptedException {
+        occupancyService.register(1L, CAPACITY, bookedCounts, System.currentTimeMillis() + 50);
+        occupancyService.register(2L, CAPACITY, bookedCounts, inOneHour());
+        occupancyService.register(3L, CAPACITY, bookedCounts, System.currentTimeMillis() - 1);
+        occupancyService.untrack(2L);
+        assertThat(occupancyService.trackedShows()).containsExactly(1L);
+
+        Thread.sleep(100);
+        occupancyService.reconcile();
+
+        assertThat(occupancyService.trackedShows()).isEmpty();
+        assertThat(scriptArgs).isEmpty();
+    }
+
+    private long inOneHour() {
+        return System.currentTimeMillis() + 3_600_000;
+    }
+}
@@ -0,0 +1,77 @@
+package com.moviebooking.service.impl;
+
+import com.moviebooking.exception.CustomExceptions;
+import com.moviebooking.repository.ShowRepository;
+import com.moviebooking.service.SeatHoldService;
+import com.moviebooking.service.SeatInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WaitlistServiceImplTest {
+    private final SeatHoldService seatHoldService = mock(SeatHoldService.class);
+    private final List<List<Object>> scriptArgs = new ArrayList<>();
+    private WaitlistServiceImpl waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        // One user waits for two seats; the pop hands them out once, every other script just records its arguments
+        RScript script = mock(RScript.class, invocation -> {
+            Object[] arguments = invocation.getArguments();
+            List<Object> values = Arrays.asList(arguments).subList(4, arguments.length);
+            scriptArgs.add(values);
+            if (arguments[2] == RScript.ReturnType.MULTI) {
+                return scriptArgs.size() == 1 ? List.of("alice", "1000", "2") : List.of();
+            }
+            return 1L;
+        });
+        RedissonClient redissonClient = mock(RedissonClient.class);
+        when(redissonClient.getScript(any(Codec.class))).thenReturn(script);
+
+        SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+        when(seatInventoryService.ordinalOf(anyLong(), anyString()))
+                .thenAnswer(call -> Integer.parseInt(call.<String>getArgument(1).substring(1)));
+
+        waitlistService = new WaitlistServiceImpl(redissonClient, mock(ShowRepository.class), seatInventoryService,
+                seatHoldService);
+        ReflectionTestUtils.setField(waitlistService, "batchSize", 10);
+    }
+
+    @Test
+    void userIsRequeuedWhenTheHoldFailsForAnyReason() {
+        when(seatHoldService.hold(eq(1L), anyCollection(), eq("alice"), anyLong()))
+                .thenThrow(new IllegalStateException("Redis unavailable"));
+
+        waitlistService.seatsReleased(1L, List.of("A1", "A2"));
+        waitlistService.matchWaitlists();
+
+        assertThat(scriptArgs).contains(List.of("alice", "1000", "2"));
+    }
+
+    @Test
+    void userIsRequeuedWhenTheSeatsWereTakenFirst() {
+        when(seatHoldService.hold(eq(1L), anyCollection(), eq("alice"), anyLong()))
+                .thenThrow(new CustomExceptions.SeatLockedException("Seats are held by another user"));
+
+        waitlistService.seatsReleased(1L, List.of("A1", "A2"));
+        waitlistService.matchWaitlists();
+
+        assertThat(scriptArgs).contains(List.of("alice", "1000", "2"));
+    }
+}
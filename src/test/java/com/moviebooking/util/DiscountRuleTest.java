@@ -0,0 +1,68 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.entity.PromoCode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiscountRuleTest {
+    private static final long NOW = System.currentTimeMillis();
+
+    @Test
+    void fixedAmountWinsOverPercentage() {
+        DiscountRule rule = DiscountRule.compile(promo(new BigDecimal("5.00"), new BigDecimal("50")));
+
+        assertThat(rule.discount(10_000, NOW)).isEqualTo(500);
+        assertThat(rule.getPromoCodeId()).isEqualTo(1L);
+    }
+
+    @Test
+    void percentageIsTakenOfTheSubtotalAndRoundedDown() {
+        DiscountRule rule = DiscountRule.compile(promo(null, new BigDecimal("12.5")));
+
+        assertThat(rule.discount(10_000, NOW)).isEqualTo(1_250);
+        assertThat(rule.discount(999, NOW)).isEqualTo(124);
+    }
+
+    @Test
+    void discountNeverExceedsTheSubtotal() {
+        assertThat(DiscountRule.compile(promo(new BigDecimal("25.00"), null)).discount(1_500, NOW)).isEqualTo(1_500);
+        assertThat(DiscountRule.compile(promo(null, new BigDecimal("150"))).discount(1_500, NOW)).isEqualTo(1_500);
+    }
+
+    @Test
+    void inactiveExpiredAndEmptyCodesGiveNothing() {
+        PromoCode inactive = promo(new BigDecimal("5.00"), null);
+        inactive.setIsActive(false);
+        PromoCode expired = promo(new BigDecimal("5.00"), null);
+        expired.setExpiryDate(LocalDateTime.now().minusMinutes(1));
+
+        assertThat(DiscountRule.compile(null)).isSameAs(DiscountRule.NONE);
+        assertThat(DiscountRule.compile(inactive)).isSameAs(DiscountRule.NONE);
+        assertThat(DiscountRule.compile(promo(null, null))).isSameAs(DiscountRule.NONE);
+        assertThat(DiscountRule.NONE.discount(10_000, NOW)).isZero();
+        assertThat(DiscountRule.compile(expired).appliesAt(NOW)).isFalse();
+        assertThat(DiscountRule.compile(expired).discount(10_000, NOW)).isZero();
+    }
+
+    @Test
+    void codeStopsApplyingAtItsExpiry() {
+        LocalDateTime expiry = LocalDateTime.now().plusHours(1);
+        long expiresAt = expiry.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        PromoCode promo = promo(new BigDecimal("5.00"), null);
+        promo.setExpiryDate(expiry);
+        DiscountRule rule = DiscountRule.compile(promo);
+
+        assertThat(rule.discount(10_000, expiresAt - 1)).isEqualTo(500);
+        assertThat(rule.discount(10_000, expiresAt)).isZero();
+    }
+
+    private static PromoCode promo(BigDecimal amount, BigDecimal percentage) {
+        return PromoCode.builder().id(1L).code("SAVE").discountAmount(amount).discountPercentage(percentage)
+                .isActive(true).build();
+    }
+}
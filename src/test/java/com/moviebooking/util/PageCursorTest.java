@@ -0,0 +1,49 @@
+package com.moviebooking.util;
+
+import com.moviebooking.exception.CustomExceptions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsTimestampsAndTitles() {
+        for (PageCursor cursor : new PageCursor[] {
+                new PageCursor("2026-03-01T18:30:00.123456", 42),
+                new PageCursor("Léon: The Professional", Long.MAX_VALUE),
+                // Titles may contain the separator; the id is split off the last one
+                new PageCursor("Face|Off || Again", 7),
+                new PageCursor("", 1) }) {
+            String encoded = cursor.encode();
+
+            assertThat(encoded).matches("[A-Za-z0-9_-]+");
+            assertThat(PageCursor.decode(encoded)).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void missingCursorMeansTheFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    void malformedCursorsAreRejectedAsInvalidRequests() {
+        for (String cursor : new String[] { "not base64!", encode("no separator"), encode("title|abc"),
+                encode("title|") }) {
+            assertThatThrownBy(() -> PageCursor.decode(cursor))
+                    .as("cursor %s", cursor)
+                    .isInstanceOf(CustomExceptions.InvalidRequestException.class)
+                    .hasMessage("Invalid page cursor");
+        }
+    }
+
+    private String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
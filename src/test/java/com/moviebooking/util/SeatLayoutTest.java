@@ -0,0 +1,99 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.entity.Seat;
+import com.moviebooking.model.enums.SeatCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatLayoutTest {
+
+    @Test
+    void gridLabelsAndOrdinalsRoundTrip() {
+        SeatLayout grid = SeatLayout.of(List.of());
+
+        assertThat(grid.isGrid()).isTrue();
+        for (int ordinal = 0; ordinal < grid.capacity(); ordinal++) {
+            assertThat(grid.ordinalOf(grid.labelOf(ordinal))).isEqualTo(ordinal);
+        }
+        assertThat(grid.labelOf(0)).isEqualTo("A1");
+        assertThat(grid.labelOf(2599)).isEqualTo("Z100");
+        assertThat(grid.labelOf(2600)).isEqualTo("AA1");
+        assertThat(grid.labelOf(grid.capacity() - 1)).isEqualTo("AZ100");
+    }
+
+    @Test
+    void gridParsingAcceptsAnySpellingOfAValidLabel() {
+        SeatLayout grid = SeatLayout.of(null);
+
+        assertThat(grid.ordinalOf(" b7 ")).isEqualTo(grid.ordinalOf("B7")).isEqualTo(106);
+        assertThat(grid.ordinalOf("aa1")).isEqualTo(2600);
+    }
+
+    @Test
+    void gridLabelsHaveNoNumericAliases() {
+        SeatLayout grid = SeatLayout.of(null);
+
+        // Locks, holds and the unique index key on the label, so "A01" must not reach seat A1
+        for (String alias : new String[] { "A01", "A001", "AA001", "B07", "A0100" }) {
+            assertThat(grid.ordinalOf(alias)).as("ordinal of %s", alias).isEqualTo(-1);
+        }
+        for (int ordinal = 0; ordinal < grid.capacity(); ordinal++) {
+            String label = grid.labelOf(ordinal);
+            assertThat(SeatLayout.canonical(label)).isEqualTo(label);
+        }
+    }
+
+    @Test
+    void gridParsingRejectsLabelsOutsideTheGrid() {
+        SeatLayout grid = SeatLayout.of(null);
+
+        for (String label : new String[] { null, "", "A", "7", "7A", "A0", "A101", "A1000", "BA1", "ZZZZ1", "A1B",
+                "A-1", "É1" }) {
+            assertThat(grid.ordinalOf(label)).as("ordinal of %s", label).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void seatPlanOrdinalsFollowRowThenNumber() {
+        SeatLayout layout = SeatLayout.of(List.of(
+                seat("AA", 1, SeatCategory.VIP),
+                seat("b", 2, SeatCategory.REGULAR),
+                seat("B", 1, SeatCategory.REGULAR),
+                seat("B", 4, SeatCategory.REGULAR),
+                seat("Z", 10, SeatCategory.PREMIUM)));
+
+        assertThat(layout.isGrid()).isFalse();
+        assertThat(layout.capacity()).isEqualTo(5);
+        assertThat(List.of(layout.labelOf(0), layout.labelOf(1), layout.labelOf(2), layout.labelOf(3),
+                layout.labelOf(4))).containsExactly("B1", "B2", "B4", "Z10", "AA1");
+        for (int ordinal = 0; ordinal < layout.capacity(); ordinal++) {
+            assertThat(layout.ordinalOf(layout.labelOf(ordinal).toLowerCase())).isEqualTo(ordinal);
+        }
+        assertThat(layout.categoryOf(layout.ordinalOf("AA1"))).isEqualTo(SeatCategory.VIP);
+        assertThat(layout.ordinalOf("B3")).isEqualTo(-1);
+        assertThat(layout.ordinalOf("A1")).isEqualTo(-1);
+    }
+
+    @Test
+    void seatPlanRowsEndAtRowChangesAndAislesBreakAdjacency() {
+        SeatLayout layout = SeatLayout.of(List.of(
+                seat("A", 1, SeatCategory.REGULAR),
+                seat("A", 2, SeatCategory.REGULAR),
+                seat("A", 4, SeatCategory.REGULAR),
+                seat("B", 1, SeatCategory.REGULAR)));
+
+        assertThat(layout.rowCount()).isEqualTo(2);
+        assertThat(layout.rowStart(0)).isZero();
+        assertThat(layout.rowEnd(0)).isEqualTo(3);
+        assertThat(layout.rowEnd(1)).isEqualTo(4);
+        // A1-A2 adjacent, aisle before A4, row end after it
+        assertThat(layout.adjacency()).containsExactly(true, false, false, false);
+    }
+
+    private static Seat seat(String row, int number, SeatCategory category) {
+        return Seat.builder().seatRow(row).seatNumber(number).category(category).build();
+    }
+}
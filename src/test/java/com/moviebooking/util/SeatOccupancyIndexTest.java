@@ -0,0 +1,68 @@
+package com.moviebooking.util;
+
+import com.moviebooking.model.entity.Seat;
+import com.moviebooking.model.enums.SeatCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatOccupancyIndexTest {
+
+    // Rows A-C of ten seats; A1-A4 are VIP and row B has an aisle after B5
+    private static SeatLayout layout() {
+        List<Seat> seats = new ArrayList<>();
+        for (int number = 1; number <= 10; number++) {
+            seats.add(seat("A", number, number <= 4 ? SeatCategory.VIP : SeatCategory.REGULAR));
+            seats.add(seat("B", number <= 5 ? number : number + 1, SeatCategory.REGULAR));
+            seats.add(seat("C", number, SeatCategory.REGULAR));
+        }
+        return SeatLayout.of(seats);
+    }
+
+    @Test
+    void prefersTheRowTwoThirdsBackAndTheMiddleOfTheRow() {
+        SeatOccupancyIndex index = new SeatOccupancyIndex(layout(), List.of());
+
+        assertThat(index.findBestBlock(3, SeatCategory.REGULAR, Set.of())).containsExactly("B3", "B4", "B5");
+    }
+
+    @Test
+    void blocksNeverSpanAnAisle() {
+        SeatOccupancyIndex index = new SeatOccupancyIndex(layout(), List.of());
+
+        // Row B seats ten, but in two runs of five
+        assertThat(index.findBestBlock(6, SeatCategory.REGULAR, Set.of())).containsExactly("C3", "C4", "C5", "C6",
+                "C7", "C8");
+    }
+
+    @Test
+    void skipsBookedAndExcludedSeats() {
+        SeatOccupancyIndex index = new SeatOccupancyIndex(layout(), List.of());
+
+        assertThat(index.findBestBlock(3, SeatCategory.REGULAR, Set.of("B4"))).containsExactly("B7", "B8", "B9");
+
+        index.markBooked(List.of("B1", "B2", "B3", "B4", "B5", "B7", "B8", "B9", "B10", "B11"));
+        index.markBooked(List.of("C1", "C3", "C5", "C7", "C9"));
+        assertThat(index.findBestBlock(3, SeatCategory.REGULAR, Set.of())).containsExactly("A5", "A6", "A7");
+
+        index.release(List.of("B8"));
+        assertThat(index.findBestBlock(1, SeatCategory.REGULAR, Set.of())).containsExactly("B8");
+    }
+
+    @Test
+    void onlyPicksSeatsOfTheRequestedCategory() {
+        SeatOccupancyIndex index = new SeatOccupancyIndex(layout(), List.of("A2"));
+
+        assertThat(index.findBestBlock(2, SeatCategory.VIP, Set.of())).containsExactly("A3", "A4");
+        assertThat(index.findBestBlock(3, SeatCategory.VIP, Set.of())).isEmpty();
+        assertThat(index.findBestBlock(1, SeatCategory.PREMIUM, Set.of())).isEmpty();
+    }
+
+    private static Seat seat(String row, int number, SeatCategory category) {
+        return Seat.builder().seatRow(row).seatNumber(number).category(category).build();
+    }
+}
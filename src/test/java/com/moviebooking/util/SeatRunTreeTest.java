@@ -0,0 +1,64 @@
+package com.moviebooking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatRunTreeTest {
+
+    @Test
+    void runsStopAtSeatsThatAreNotAdjacent() {
+        // Seats 0-3 and 4-7 are split by an aisle
+        boolean[] joinsNext = { true, true, true, false, true, true, true, false };
+        boolean[] usable = { true, true, true, true, true, true, true, true };
+        SeatRunTree tree = new SeatRunTree(8, joinsNext, usable);
+
+        assertThat(tree.longestRun(0, 8)).isEqualTo(4);
+        assertThat(tree.longestRun(2, 6)).isEqualTo(2);
+
+        tree.set(1, false);
+        assertThat(tree.longestRun(0, 4)).isEqualTo(2);
+        assertThat(tree.longestRun(0, 8)).isEqualTo(4);
+
+        tree.set(5, false);
+        assertThat(tree.longestRun(0, 8)).isEqualTo(2);
+        assertThat(tree.longestRun(3, 3)).isZero();
+    }
+
+    @Test
+    void matchesALinearScanUnderRandomUpdates() {
+        Random random = new Random(42);
+        int size = 257;
+        boolean[] joinsNext = new boolean[size];
+        boolean[] usable = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            joinsNext[i] = random.nextInt(10) != 0;
+            usable[i] = random.nextBoolean();
+        }
+        SeatRunTree tree = new SeatRunTree(size, joinsNext, usable);
+
+        for (int step = 0; step < 2_000; step++) {
+            int ordinal = random.nextInt(size);
+            usable[ordinal] = random.nextInt(3) != 0;
+            tree.set(ordinal, usable[ordinal]);
+
+            int from = random.nextInt(size);
+            int to = from + random.nextInt(size - from + 1);
+            assertThat(tree.longestRun(from, to))
+                    .as("longest run in [%d, %d)", from, to)
+                    .isEqualTo(longestRun(joinsNext, usable, from, to));
+        }
+    }
+
+    private int longestRun(boolean[] joinsNext, boolean[] usable, int from, int to) {
+        int longest = 0;
+        int run = 0;
+        for (int i = from; i < to; i++) {
+            run = !usable[i] ? 0 : run > 0 && joinsNext[i - 1] ? run + 1 : 1;
+            longest = Math.max(longest, run);
+        }
+        return longest;
+    }
+}
@@ -0,0 +1,106 @@
+package com.moviebooking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void timersFireOnTheirTickAcrossEveryLevel() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 0, 4);
+        // One timer per level: under 256 ticks, under 256^2, under 256^3 and above
+        wheel.schedule("level0", 1_000);
+        wheel.schedule("level1", 50_000);
+        wheel.schedule("level2", 1_000_000);
+        wheel.schedule("level3", 200_000_000);
+
+        assertThat(wheel.advance(999)).isEmpty();
+        assertThat(wheel.advance(1_000)).containsExactly("level0");
+        assertThat(wheel.advance(49_999)).isEmpty();
+        assertThat(wheel.advance(50_000)).containsExactly("level1");
+        assertThat(wheel.advance(999_999)).isEmpty();
+        assertThat(wheel.advance(1_000_000)).containsExactly("level2");
+        assertThat(wheel.advance(199_999_999)).isEmpty();
+        assertThat(wheel.advance(200_000_000)).containsExactly("level3");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTickAndOneAdvanceReturnsThemInOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 1_000, 16);
+        wheel.schedule("late", 5_000);
+        wheel.schedule("past", 10);
+        wheel.schedule("soon", 1_300);
+
+        assertThat(wheel.advance(1_001)).containsExactly("past");
+        assertThat(wheel.advance(10_000)).containsExactly("soon", "late");
+    }
+
+    @Test
+    void cancelledTimersNeverFireAndStaleHandlesAreRejected() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 0, 16);
+        long cancelled = wheel.schedule("cancelled", 70_000);
+        long fired = wheel.schedule("fired", 100);
+
+        assertThat(wheel.cancel(cancelled)).isTrue();
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.advance(100)).containsExactly("fired");
+        assertThat(wheel.cancel(fired)).isFalse();
+
+        // The recycled slot gets a new generation, so the old handles cannot touch its timer
+        long reused = wheel.schedule("reused", 500);
+        assertThat(wheel.cancel(cancelled)).isFalse();
+        assertThat(wheel.cancel(fired)).isFalse();
+        assertThat(wheel.advance(100_000)).containsExactly("reused");
+        assertThat(wheel.cancel(reused)).isFalse();
+    }
+
+    @Test
+    void matchesTheDeadlinesOfRandomTimersThroughCascades() {
+        Random random = new Random(7);
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 0, 16);
+        Map<Integer, Long> deadlines = new HashMap<>();
+        Map<Integer, Long> handles = new HashMap<>();
+        List<Integer> fired = new ArrayList<>();
+
+        long now = 0;
+        int nextId = 0;
+        while (now < 20_000_000) {
+            for (int i = random.nextInt(20); i > 0; i--) {
+                long deadline = now + 1 + (long) Math.pow(2, random.nextDouble() * 24);
+                deadlines.put(nextId, deadline);
+                handles.put(nextId, wheel.schedule(nextId, deadline));
+                nextId++;
+            }
+            if (!handles.isEmpty() && random.nextInt(4) == 0) {
+                Integer victim = handles.keySet().iterator().next();
+                assertThat(wheel.cancel(handles.remove(victim))).isTrue();
+                deadlines.remove(victim);
+            }
+
+            long previous = now;
+            now += 1 + random.nextInt(100_000);
+            long last = 0;
+            for (Integer id : wheel.advance(now)) {
+                long deadline = deadlines.get(id);
+                assertThat(deadline).as("deadline of timer %d", id).isGreaterThan(previous).isLessThanOrEqualTo(now);
+                assertThat(deadline).isGreaterThanOrEqualTo(last);
+                last = deadline;
+                handles.remove(id);
+                fired.add(id);
+            }
+        }
+        // Whatever is still pending fires once the wheel runs past the last deadline
+        fired.addAll(wheel.advance(now + (1 << 24)));
+
+        assertThat(fired).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(deadlines.keySet());
+        assertThat(wheel.size()).isZero();
+    }
+}